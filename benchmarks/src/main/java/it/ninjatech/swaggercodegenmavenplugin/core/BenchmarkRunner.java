@@ -0,0 +1,82 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * <p>
+ * Runner of the benchmarks. <br>
+ * It takes the same options of the JMH command line and always adds the GC profiler, so that every benchmark reports its allocation rate
+ * together with its throughput.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args
+     *            JMH command line options
+     * @throws Exception
+     *             If the options are invalid or a benchmark has failed
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+        } else {
+            OptionsBuilder optionsBuilder = new OptionsBuilder();
+            optionsBuilder.parent(commandLineOptions);
+            if (commandLineOptions.getProfilers().stream().map(ProfilerConfig::getKlass).noneMatch(e -> "gc".equals(e) || GCProfiler.class.getName().equals(e))) {
+                optionsBuilder.addProfiler(GCProfiler.class);
+            }
+            Options options = optionsBuilder.build();
+
+            Runner runner = new Runner(options);
+            if (commandLineOptions.shouldList()) {
+                runner.list();
+            } else {
+                runner.run();
+            }
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private BenchmarkRunner() {
+    }
+
+}
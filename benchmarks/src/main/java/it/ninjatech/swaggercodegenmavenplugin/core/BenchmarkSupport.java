@@ -0,0 +1,409 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+
+import io.swagger.codegen.DefaultGenerator;
+
+import it.ninjatech.swaggercodegenmavenplugin.configuration.Configuration;
+import it.ninjatech.swaggercodegenmavenplugin.configuration.DataTypeMapping;
+import it.ninjatech.swaggercodegenmavenplugin.configuration.DateLibrary;
+import it.ninjatech.swaggercodegenmavenplugin.mojo.AbstractGenerateMojo;
+import it.ninjatech.swaggercodegenmavenplugin.mojo.GenerateMojo;
+
+/**
+ * <p>
+ * Support of the benchmarks: the configuration of the plug-in used by all the benchmarks and the access to the internals of the generators.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class BenchmarkSupport {
+
+    /** Package scanned by the Data Type Mapping. */
+    public static final String SCANNED_PACKAGE = "org.apache.commons.lang3.tuple";
+
+    /**
+     * Returns a log printing the warnings and the errors only.
+     *
+     * @return Log
+     */
+    public static Log log() {
+        return new QuietLog(null);
+    }
+
+    /**
+     * Returns a log printing the warnings and the errors only and collecting the info messages.
+     *
+     * @param infos
+     *            Collected info messages
+     * @return Log
+     */
+    public static Log log(List<String> infos) {
+        return new QuietLog(infos);
+    }
+
+    /**
+     * Returns the Data Type Mapping of the fixtures made by {@link SpecGenerator}.
+     *
+     * @param packages
+     *            Whether the package of the external types is scanned too
+     * @return Data Type Mapping
+     */
+    public static DataTypeMapping dataTypeMapping(boolean packages) {
+        DataTypeMapping result = new DataTypeMapping();
+
+        Map<String, String> directMap = new HashMap<>();
+        directMap.put(SpecGenerator.DIRECT_MAP_PAIR, "org.apache.commons.lang3.tuple.Pair");
+        directMap.put(SpecGenerator.DIRECT_MAP_MUTABLE_PAIR, "org.apache.commons.lang3.tuple.MutablePair");
+        result.setDirectMap(directMap);
+        result.setPackages(packages ? Collections.singleton(SCANNED_PACKAGE) : Collections.emptySet());
+        result.setExternalResources(Collections.emptySet());
+
+        return result;
+    }
+
+    /**
+     * Returns the configuration of the plug-in, generating both API's and Models of the fixtures.
+     *
+     * @param id
+     *            Configuration ID
+     * @param folder
+     *            Working folder, containing the output and the cache folders
+     * @param enableCache
+     *            Whether the persistent cache is enabled
+     * @return Configuration
+     */
+    public static Configuration configuration(String id, File folder, boolean enableCache) {
+        Configuration result = new Configuration(id);
+
+        result.setJavaCodegen(Codegen.class)
+              .setOutputFolder(new File(folder, "output"))
+              .setModelPackage("benchmark.model")
+              .setApiPackage("benchmark.api")
+              .setDataTypeMapping(dataTypeMapping(true))
+              .setDateLibrary(DateLibrary.JAVA8_LOCAL_DATE_TIME)
+              .setEnableBeanValidation(true)
+              .setSecurityHeadersAsArguments(true)
+              .setBasePathAsRoot(true)
+              .setWriteChangedFilesOnly(false)
+              .setEnableCache(enableCache)
+              .setCacheFolder(new File(folder, "cache"));
+
+        return result;
+    }
+
+    /**
+     * Makes a new {@link GeneratorFactory}, bypassing the instances kept by {@link GeneratorFactory#getInstance(Log, Configuration)}.
+     *
+     * @param configuration
+     *            Configuration
+     * @return Generator Factory
+     * @throws ReflectiveOperationException
+     *             If the factory cannot be instantiated
+     */
+    public static GeneratorFactory newGeneratorFactory(Configuration configuration) throws ReflectiveOperationException {
+        GeneratorFactory result = null;
+
+        Constructor<GeneratorFactory> constructor = GeneratorFactory.class.getDeclaredConstructor(Log.class, Configuration.class);
+        constructor.setAccessible(true);
+        try {
+            result = constructor.newInstance(log(), configuration);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return result;
+    }
+
+    /**
+     * Makes the {@link GenerateMojo} generating the API's and the Models of the source, configured as by its POM with the persistent cache and the
+     * skipping of the unchanged sources disabled.
+     *
+     * @param id
+     *            Configuration ID, unique for each execution so that no resolved configuration is shared
+     * @param source
+     *            SWAGGER source
+     * @param folder
+     *            Working folder, containing the output and the build folders
+     * @param lowMemory
+     *            Whether the low memory mode is enabled
+     * @param shards
+     *            Number of shards the source is split into
+     * @return MOJO
+     * @throws ReflectiveOperationException
+     *             If the MOJO cannot be configured
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static GenerateMojo newGenerateMojo(String id, File source, File folder, boolean lowMemory, int shards)
+            throws ReflectiveOperationException, IOException {
+        return newGenerateMojo(id, source, folder, null, lowMemory, shards);
+    }
+
+    /**
+     * Makes the {@link GenerateMojo} generating the API's and the Models of the source, configured as by its POM with the skipping of the
+     * unchanged sources disabled and the persistent cache enabled in the passed folder.
+     *
+     * @param id
+     *            Configuration ID, unique for each execution so that no resolved configuration is shared
+     * @param source
+     *            SWAGGER source
+     * @param folder
+     *            Working folder, containing the output and the build folders
+     * @param cacheFolder
+     *            Cache folder, <i>null</i> to disable the persistent cache
+     * @param lowMemory
+     *            Whether the low memory mode is enabled
+     * @param shards
+     *            Number of shards the source is split into
+     * @return MOJO
+     * @throws ReflectiveOperationException
+     *             If the MOJO cannot be configured
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static GenerateMojo newGenerateMojo(String id, File source, File folder, File cacheFolder, boolean lowMemory, int shards)
+            throws ReflectiveOperationException, IOException {
+        GenerateMojo result = new GenerateMojo();
+
+        File buildDirectory = new File(folder, "target");
+        setParameter(result, "id", id);
+        setParameter(result, "outputFolder", new File(buildDirectory, "generated-sources"));
+        setParameter(result, "sourceFiles", Collections.singletonList(source.toURI().toURL()));
+        setParameter(result, "modelPackage", "scale.model");
+        setParameter(result, "apiPackage", "scale.api");
+        setParameter(result, "dataTypeMapping", dataTypeMapping(false));
+        setParameter(result, "enableJava8", true);
+        setParameter(result, "dateLibrary", DateLibrary.JAVA8_LOCAL_DATE_TIME);
+        setParameter(result, "enableBeanValidation", true);
+        setParameter(result, "securityHeadersAsArguments", true);
+        setParameter(result, "basePathAsRoot", true);
+        setParameter(result, "writeChangedFilesOnly", true);
+        setParameter(result, "enableCache", cacheFolder != null);
+        setParameter(result, "cacheFolder", cacheFolder != null ? cacheFolder : new File(buildDirectory, "cache"));
+        setParameter(result, "offline", false);
+        setParameter(result, "parallelism", 1);
+        setParameter(result, "writerThreads", 0);
+        setParameter(result, "lowMemory", lowMemory);
+        setParameter(result, "shards", shards);
+        setParameter(result, "skipUnchanged", false);
+        setParameter(result, "buildDirectory", buildDirectory);
+        setParameter(result, "pluginVersion", "benchmark");
+        setParameter(result, "goal", "generate");
+        setParameter(result, "executionId", "benchmark");
+        result.setLog(log());
+
+        return result;
+    }
+
+    /**
+     * Returns the value of a field of the Default Generator.
+     *
+     * @param <T>
+     *            Type of the value
+     * @param generator
+     *            Generator
+     * @param name
+     *            Field name
+     * @return Value
+     * @throws ReflectiveOperationException
+     *             If the field cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getField(Generator generator, String name) throws ReflectiveOperationException {
+        Field field = DefaultGenerator.class.getDeclaredField(name);
+        field.setAccessible(true);
+
+        return (T) field.get(generator);
+    }
+
+    /**
+     * Returns a method of the Default Generator, made accessible.
+     *
+     * @param name
+     *            Method name
+     * @param parameterTypes
+     *            Parameter types
+     * @return Method
+     * @throws ReflectiveOperationException
+     *             If the method cannot be found
+     */
+    public static Method getMethod(String name, Class<?>... parameterTypes) throws ReflectiveOperationException {
+        Method result = DefaultGenerator.class.getDeclaredMethod(name, parameterTypes);
+        result.setAccessible(true);
+
+        return result;
+    }
+
+    /**
+     * Drops the parsed models kept by the {@link SourceStore} for the life of the JVM, so that the following executions parse their sources again
+     * or take them from the persistent cache.
+     *
+     * @throws ReflectiveOperationException
+     *             If the models cannot be dropped
+     */
+    public static void clearWarmModels() throws ReflectiveOperationException {
+        Field warmModelsField = SourceStore.class.getDeclaredField("WARM_MODELS");
+        warmModelsField.setAccessible(true);
+        Object warmModels = warmModelsField.get(null);
+        Field modelsField = warmModels.getClass().getDeclaredField("models");
+        modelsField.setAccessible(true);
+        Field sizeField = warmModels.getClass().getDeclaredField("size");
+        sizeField.setAccessible(true);
+        synchronized (warmModels) {
+            ((Map<?, ?>) modelsField.get(warmModels)).clear();
+            sizeField.setLong(warmModels, 0);
+        }
+    }
+
+    /**
+     * Creates a temporary working folder.
+     *
+     * @return Folder
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static File createFolder() throws IOException {
+        return Files.createTempDirectory("swagger-codegen-benchmark").toFile();
+    }
+
+    /**
+     * Deletes a working folder.
+     *
+     * @param folder
+     *            Folder
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static void deleteFolder(File folder) throws IOException {
+        if (folder != null && folder.exists()) {
+            try (Stream<Path> paths = Files.walk(folder.toPath())) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Sets a parameter of the MOJO, as Maven does when injecting the configuration.
+     *
+     * @param mojo
+     *            MOJO
+     * @param name
+     *            Parameter name
+     * @param value
+     *            Value
+     * @throws ReflectiveOperationException
+     *             If the parameter cannot be set
+     */
+    private static void setParameter(GenerateMojo mojo, String name, Object value) throws ReflectiveOperationException {
+        Field field = AbstractGenerateMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+
+    /**
+     * Log printing the warnings and the errors only, so that the output of the benchmarks stays readable, optionally collecting the info messages.
+     */
+    private static final class QuietLog extends SystemStreamLog {
+
+        /** Collected info messages, <i>null</i> if they are discarded. */
+        private final List<String> infos;
+
+        /**
+         * Instantiates a new Quiet Log.
+         *
+         * @param infos
+         *            Collected info messages, <i>null</i> to discard them
+         */
+        private QuietLog(List<String> infos) {
+            this.infos = infos;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        public void debug(CharSequence content) {
+        }
+
+        @Override
+        public void debug(CharSequence content, Throwable error) {
+        }
+
+        @Override
+        public void debug(Throwable error) {
+        }
+
+        @Override
+        public void info(CharSequence content) {
+            if (this.infos != null) {
+                this.infos.add(content.toString());
+            }
+        }
+
+        @Override
+        public void info(CharSequence content, Throwable error) {
+            info(content);
+        }
+
+        @Override
+        public void info(Throwable error) {
+        }
+
+    }
+
+    /**
+     * Private constructor.
+     */
+    private BenchmarkSupport() {
+    }
+
+}
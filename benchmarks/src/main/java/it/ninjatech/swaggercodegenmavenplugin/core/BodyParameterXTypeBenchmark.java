@@ -0,0 +1,140 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.util.Json;
+
+/**
+ * <p>
+ * Benchmark of the lookup of the external type of a body parameter, done by {@link Codegen#postProcessParameter(io.swagger.codegen.CodegenParameter)}
+ * once for each body parameter of the SWAGGER source. <br>
+ * It compares the parse of the JSON serialization of the parameter, the former implementation, with the lookup on the parsed schema.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyParameterXTypeBenchmark {
+
+    /** X_TYPE. */
+    private static final String X_TYPE = "x-nt-type";
+
+    /** Schema of the body parameter. */
+    @Param({ "single", "array" })
+    private String schema;
+
+    /** Body parameter. */
+    private BodyParameter bodyParameter;
+
+    /** JSON serialization of the body parameter, as found in the jsonSchema of the Codegen parameter. */
+    private String jsonSchema;
+
+    /**
+     * Builds the body parameter.
+     */
+    @Setup
+    public void setup() {
+        StringProperty property = new StringProperty();
+        property.setVendorExtension(X_TYPE, "NTPair");
+
+        Model model = null;
+        if ("array".equals(this.schema)) {
+            ArrayModel arrayModel = new ArrayModel();
+            arrayModel.setItems(property);
+            model = arrayModel;
+        } else {
+            ModelImpl modelImpl = new ModelImpl();
+            modelImpl.setType("string");
+            modelImpl.setVendorExtensions(Collections.singletonMap(X_TYPE, "NTPair"));
+            model = modelImpl;
+        }
+
+        this.bodyParameter = new BodyParameter().name("body").schema(model);
+        this.jsonSchema = Json.pretty(this.bodyParameter);
+    }
+
+    /**
+     * Looks up the external type by parsing the JSON serialization of the parameter.
+     *
+     * @return External type
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public String jsonReparse() throws IOException {
+        String result = null;
+
+        JsonNode rootNode = Json.mapper().readTree(this.jsonSchema);
+        JsonNode schemaNode = rootNode.findPath("schema");
+        if (!schemaNode.isMissingNode()) {
+            JsonNode xTypeNode = schemaNode.findPath(X_TYPE);
+            if (!xTypeNode.isMissingNode()) {
+                result = xTypeNode.asText();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Looks up the external type on the parsed schema.
+     *
+     * @return External type
+     */
+    @Benchmark
+    public String parsedSchema() {
+        return Codegen.getXType(this.bodyParameter.getSchema());
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.filter.TypeFilter;
+
+import io.swagger.models.Model;
+
+/**
+ * <p>
+ * Benchmark of the scan of a package of a real Model jar, by default the <i>io.swagger.models</i> package tree of the jar containing the SWAGGER
+ * Models, through a new class loader at each scan. <br>
+ * The <i>baseline</i> scan is the one of the version 1.4.0: the class files are resolved and read by Spring and each candidate is loaded by the
+ * filter through {@link Class#forName(String)}; the <i>metadata</i> scan is the one of {@link ClassScanner}, matching the class names through
+ * {@link ClassTypeFilter}. <br>
+ * Besides the time of a scan, the benchmark prints at the end of the trial the average of the classes found and of the classes loaded by the
+ * measured scans, as counted by the {@link ClassLoadingMXBean}. The total count of the loaded classes is used, so that the unloading of the class
+ * loaders of the previous scans does not lower the count. A different jar and package are set through the <i>jar</i> and <i>package_</i> parameters.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ClassScanBenchmark {
+
+    /** Scan: the one of the version 1.4.0 or the one on the metadata only. */
+    @Param({ "baseline", "metadata" })
+    private String scan;
+
+    /** Jar to scan, the one containing the SWAGGER Models when empty. */
+    @Param("")
+    private String jar;
+
+    /** Package to scan. */
+    @Param("io.swagger.models.**")
+    private String package_;
+
+    /** Class loading bean. */
+    private ClassLoadingMXBean classLoading;
+
+    /** URL of the jar. */
+    private URL url;
+
+    /** Class loader of the jar, new at each scan. */
+    private URLClassLoader classLoader;
+
+    /** Classes found by the last scan. */
+    private int foundClasses;
+
+    /** Classes loaded by the last scan. */
+    private long loadedClasses;
+
+    /** Number of the measured scans. */
+    private int scans;
+
+    /** Classes found by the measured scans. */
+    private long totalFoundClasses;
+
+    /** Classes loaded by the measured scans. */
+    private long totalLoadedClasses;
+
+    /**
+     * Resolves the jar to scan.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws URISyntaxException
+     *             If the location of the SWAGGER Models is not valid
+     */
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException, URISyntaxException {
+        this.classLoading = ManagementFactory.getClassLoadingMXBean();
+        if (StringUtils.isEmpty(this.jar)) {
+            this.url = Model.class.getProtectionDomain().getCodeSource().getLocation();
+        } else {
+            this.url = new File(this.jar).toURI().toURL();
+        }
+    }
+
+    /**
+     * Creates the class loader of the jar, without parent so that none of its classes is already loaded.
+     */
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        this.classLoader = new URLClassLoader(new URL[] { this.url }, null);
+    }
+
+    /**
+     * Closes the class loader of the jar and counts the classes of the scan, if measured.
+     *
+     * @param iterationParams
+     *            Parameters of the iteration
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDownIteration(IterationParams iterationParams) throws IOException {
+        this.classLoader.close();
+        if (iterationParams.getType() == IterationType.MEASUREMENT) {
+            this.scans++;
+            this.totalFoundClasses += this.foundClasses;
+            this.totalLoadedClasses += this.loadedClasses;
+        }
+    }
+
+    /**
+     * Prints the average of the classes found and loaded by the measured scans.
+     */
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        System.out.println(String.format("%n%s scan of %s: %.1f classes found, %.1f classes loaded",
+                                         this.scan,
+                                         this.package_,
+                                         (double) this.totalFoundClasses / this.scans,
+                                         (double) this.totalLoadedClasses / this.scans));
+    }
+
+    /**
+     * Scans the package.
+     *
+     * @return Fully qualified names of the classes found
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public List<String> scan() throws IOException {
+        List<String> result = null;
+
+        long loadedClasses = this.classLoading.getTotalLoadedClassCount();
+        if ("baseline".equals(this.scan)) {
+            result = scanBaseline(this.classLoader, this.package_);
+        } else {
+            result = new ClassScanner(BenchmarkSupport.log(), this.classLoader).scan(Collections.singletonList(this.package_)).get(0);
+        }
+        this.loadedClasses = this.classLoading.getTotalLoadedClassCount() - loadedClasses;
+        this.foundClasses = result.size();
+
+        return result;
+    }
+
+    /**
+     * Scans a package as the version 1.4.0 did, resolving the class files of the package tree and filtering them through a
+     * {@link BaselineClassTypeFilter}.
+     *
+     * @param classLoader
+     *            Class loader to look up the package
+     * @param package_
+     *            Package to scan
+     * @return Fully qualified names of the classes found
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static List<String> scanBaseline(ClassLoader classLoader, String package_) throws IOException {
+        List<String> result = new ArrayList<>();
+
+        BaselineClassTypeFilter filter = new BaselineClassTypeFilter(classLoader, package_);
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        MetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(resolver);
+        String pattern = String.format("classpath*:%s/**/*.class", StringUtils.removeEnd(package_, ".**").replace('.', '/'));
+        for (Resource resource : resolver.getResources(pattern)) {
+            MetadataReader metadataReader = metadataReaderFactory.getMetadataReader(resource);
+            if (filter.match(metadataReader, metadataReaderFactory)) {
+                result.add(metadataReader.getClassMetadata().getClassName());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Type Filter of the version 1.4.0, loading each candidate class to take its package. <br>
+     * The candidates are loaded through the class loader of the scanned jar, as the filter did through the one of the plug-in.
+     */
+    private static final class BaselineClassTypeFilter implements TypeFilter {
+
+        /** The Constant RECURSIVE_PATTERN. */
+        private static final String RECURSIVE_PATTERN = ".**";
+
+        /** Class loader of the candidates. */
+        private final ClassLoader classLoader;
+
+        /** Recursive flag. */
+        private final boolean recursive;
+
+        /** Base package. */
+        private final String basePackage;
+
+        /**
+         * Instantiates a new Baseline Class Type Filter.
+         *
+         * @param classLoader
+         *            Class loader of the candidates
+         * @param basePackage
+         *            Base package
+         */
+        private BaselineClassTypeFilter(ClassLoader classLoader, String basePackage) {
+            this.classLoader = classLoader;
+            this.recursive = basePackage.endsWith(RECURSIVE_PATTERN);
+            this.basePackage = this.recursive ? basePackage.substring(0, basePackage.length() - RECURSIVE_PATTERN.length()) : basePackage;
+        }
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) throws IOException {
+            boolean result = false;
+
+            ClassMetadata metadata = metadataReader.getClassMetadata();
+            try {
+                Class<?> type = Class.forName(metadata.getClassName(), true, this.classLoader);
+                if (metadata.isAbstract() || metadata.isConcrete()) {
+                    if (this.recursive) {
+                        result = StringUtils.startsWith(type.getPackage().getName(), this.basePackage);
+                    } else {
+                        result = StringUtils.equals(type.getPackage().getName(), this.basePackage);
+                    }
+                }
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Benchmark of {@link ClassTypeFilter#match(String)} on a mix of class names inside and outside the scanned package, as met while scanning a
+ * jar.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassTypeFilterBenchmark {
+
+    /** Number of class names matched for each invocation. */
+    private static final int CLASS_NAMES = 1000;
+
+    /** Base package of the filter, with or without the "**" wildcard. */
+    @Param({ "org.apache.commons.lang3.tuple", "org.apache.commons.lang3.**" })
+    private String basePackage;
+
+    /** Filter. */
+    private ClassTypeFilter classTypeFilter;
+
+    /** Class names. */
+    private String[] classNames;
+
+    /**
+     * Builds the filter and the class names.
+     */
+    @Setup
+    public void setup() {
+        this.classTypeFilter = new ClassTypeFilter(this.basePackage);
+        this.classNames = new String[CLASS_NAMES];
+        for (int i = 0; i < CLASS_NAMES; i++) {
+            switch (i % 4) {
+                case 0:
+                    this.classNames[i] = String.format("org.apache.commons.lang3.tuple.Type%d", i);
+                    break;
+                case 1:
+                    this.classNames[i] = String.format("org.apache.commons.lang3.text.translate.Type%d", i);
+                    break;
+                case 2:
+                    this.classNames[i] = String.format("org.apache.commons.lang3.tuple.Type%d$Inner", i);
+                    break;
+                default:
+                    this.classNames[i] = String.format("com.example.service.model.Type%d", i);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Matches all the class names.
+     *
+     * @return Number of matching class names
+     */
+    @Benchmark
+    public int match() {
+        int result = 0;
+
+        for (String className : this.classNames) {
+            if (this.classTypeFilter.match(className)) {
+                result++;
+            }
+        }
+
+        return result;
+    }
+
+}
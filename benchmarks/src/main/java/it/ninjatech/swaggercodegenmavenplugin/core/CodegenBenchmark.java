@@ -0,0 +1,178 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.CodegenOperation;
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+
+/**
+ * <p>
+ * Benchmark of the {@link Codegen} hooks on the fixtures made by {@link SpecGenerator}: the index of the extensions built by
+ * {@link Codegen#preprocessSwagger(Swagger)}, the conversion and post-processing of the Models and the conversion and post-processing of the
+ * operations, as run by the Default Generator before rendering the templates.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodegenBenchmark {
+
+    /** Number of operations of the fixture. */
+    @Param({ "10", "100", "1000" })
+    private int operations;
+
+    /** Working folder. */
+    private File folder;
+
+    /** Generator, configured as at the beginning of the generation. */
+    private Generator generator;
+
+    /** Codegen of the Generator. */
+    private CodegenConfig config;
+
+    /** Parsed fixture. */
+    private Swagger swagger;
+
+    /** Default Generator method converting and post-processing the Models. */
+    private Method processModels;
+
+    /** Default Generator method post-processing the operations. */
+    private Method processOperations;
+
+    /**
+     * Makes the Generator and runs its setup, up to the flattening of the inline Models.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws ReflectiveOperationException
+     *             If the internals of the Generator cannot be accessed
+     */
+    @Setup
+    public void setup() throws IOException, ReflectiveOperationException {
+        this.folder = BenchmarkSupport.createFolder();
+        URL source = SpecGenerator.write(this.operations, this.folder).toURI().toURL();
+        GeneratorFactory generatorFactory = BenchmarkSupport.newGeneratorFactory(BenchmarkSupport.configuration("benchmark", this.folder, false));
+
+        this.generator = generatorFactory.make(source, SourceStore.of(null));
+        this.generator.setGeneratorPropertyDefault(CodegenConstants.APIS, Boolean.TRUE.toString());
+        this.generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, Boolean.TRUE.toString());
+        BenchmarkSupport.getMethod("configureGeneratorProperties").invoke(this.generator);
+        this.config = BenchmarkSupport.getField(this.generator, "config");
+        this.swagger = BenchmarkSupport.getField(this.generator, "swagger");
+        new InlineModelResolver().flatten(this.swagger);
+
+        this.processModels = BenchmarkSupport.getMethod("processModels", CodegenConfig.class, Map.class, Map.class);
+        this.processOperations = BenchmarkSupport.getMethod("processOperations", CodegenConfig.class, String.class, List.class, List.class);
+    }
+
+    /**
+     * Deletes the working folder.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkSupport.deleteFolder(this.folder);
+    }
+
+    /**
+     * Preprocesses the fixture, building and validating the index of the extensions.
+     */
+    @Benchmark
+    public void preprocessSwagger() {
+        this.config.preprocessSwagger(this.swagger);
+    }
+
+    /**
+     * Converts and post-processes all the Models of the fixture.
+     *
+     * @param blackhole
+     *            Blackhole
+     * @throws ReflectiveOperationException
+     *             If the method of the Generator cannot be invoked
+     */
+    @Benchmark
+    public void models(Blackhole blackhole) throws ReflectiveOperationException {
+        Map<String, Model> definitions = this.swagger.getDefinitions();
+        for (Entry<String, Model> definition : definitions.entrySet()) {
+            blackhole.consume(this.processModels.invoke(this.generator,
+                                                        this.config,
+                                                        Collections.singletonMap(definition.getKey(), definition.getValue()),
+                                                        definitions));
+        }
+    }
+
+    /**
+     * Converts and post-processes all the operations of the fixture.
+     *
+     * @param blackhole
+     *            Blackhole
+     * @throws ReflectiveOperationException
+     *             If the method of the Generator cannot be invoked
+     */
+    @Benchmark
+    public void operations(Blackhole blackhole) throws ReflectiveOperationException {
+        Map<String, List<CodegenOperation>> paths = this.generator.processPaths(this.swagger.getPaths());
+        for (Entry<String, List<CodegenOperation>> path : paths.entrySet()) {
+            blackhole.consume(this.processOperations.invoke(this.generator, this.config, path.getKey(), path.getValue(), Collections.emptyList()));
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import it.ninjatech.swaggercodegenmavenplugin.configuration.DataTypeMapping;
+
+/**
+ * <p>
+ * Benchmark of {@link DataTypeMappingHandler#handle(Log, DataTypeMapping, HttpCache)}, that is the resolution of the Data Type Mapping without the
+ * persistent cache, with the direct map only, with the scan of a package and with the recursive scan of a package tree.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataTypeMappingHandlerBenchmark {
+
+    /** Packages scanned: none, a package or a package tree. */
+    @Param({ "none", "org.apache.commons.lang3.tuple", "org.apache.commons.lang3.**" })
+    private String packages;
+
+    /** Log. */
+    private Log log;
+
+    /** Data Type Mapping. */
+    private DataTypeMapping dataTypeMapping;
+
+    /** Cache of the External Resources, without persistent folder. */
+    private HttpCache httpCache;
+
+    /**
+     * Builds the Data Type Mapping.
+     */
+    @Setup
+    public void setup() {
+        this.log = BenchmarkSupport.log();
+        this.dataTypeMapping = BenchmarkSupport.dataTypeMapping(false);
+        if (!"none".equals(this.packages)) {
+            this.dataTypeMapping.setPackages(Collections.singleton(this.packages));
+        }
+        this.httpCache = new HttpCache(this.log, null, false);
+    }
+
+    /**
+     * Resolves the Data Type Mapping.
+     *
+     * @return Resolved map
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public Map<String, TypeData> handle() throws IOException {
+        return DataTypeMappingHandler.handle(this.log, this.dataTypeMapping, this.httpCache);
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.swagger.codegen.CodegenConstants;
+
+/**
+ * <p>
+ * Benchmark of a full {@link Generator#generate()} of the API's and the Models of the fixtures made by {@link SpecGenerator}. <br>
+ * The source is parsed once per trial, as it happens for the executions of a build sharing the parsed sources, so each invocation measures the
+ * decoding of the model, the Codegen hooks, the rendering of the templates and the writing of the files.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class GenerateBenchmark {
+
+    /** Number of operations of the fixture. */
+    @Param({ "10", "100", "1000", "10000" })
+    private int operations;
+
+    /** Working folder. */
+    private File folder;
+
+    /** Fixture. */
+    private URL source;
+
+    /** Generator Factory. */
+    private GeneratorFactory generatorFactory;
+
+    /** Store of the parsed fixture, shared by the invocations. */
+    private SourceStore sourceStore;
+
+    /**
+     * Writes the fixture and makes the factory.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws ReflectiveOperationException
+     *             If the factory cannot be instantiated
+     */
+    @Setup
+    public void setup() throws IOException, ReflectiveOperationException {
+        this.folder = BenchmarkSupport.createFolder();
+        this.source = SpecGenerator.write(this.operations, this.folder).toURI().toURL();
+        this.generatorFactory = BenchmarkSupport.newGeneratorFactory(BenchmarkSupport.configuration("benchmark", this.folder, false));
+        this.sourceStore = SourceStore.of(null);
+    }
+
+    /**
+     * Deletes the working folder.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkSupport.deleteFolder(this.folder);
+    }
+
+    /**
+     * Generates the API's and the Models.
+     *
+     * @return Generated files
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public List<File> generate() throws IOException {
+        Generator generator = this.generatorFactory.make(this.source, this.sourceStore);
+        generator.setGeneratorPropertyDefault(CodegenConstants.APIS, Boolean.TRUE.toString());
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, Boolean.TRUE.toString());
+
+        return generator.generate();
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import it.ninjatech.swaggercodegenmavenplugin.configuration.Configuration;
+
+/**
+ * <p>
+ * Benchmark of the construction of the {@link GeneratorFactory}, that resolves the Data Type Mapping, with and without the persistent cache, and of
+ * its reuse by the following executions in a warm JVM.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorFactoryBenchmark {
+
+    /** Whether the persistent cache is enabled. */
+    @Param({ "false", "true" })
+    private boolean enableCache;
+
+    /** Working folder. */
+    private File folder;
+
+    /** Configuration. */
+    private Configuration configuration;
+
+    /**
+     * Creates the working folder and the configuration.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.folder = BenchmarkSupport.createFolder();
+        this.configuration = BenchmarkSupport.configuration("benchmark", this.folder, this.enableCache);
+    }
+
+    /**
+     * Deletes the working folder.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkSupport.deleteFolder(this.folder);
+    }
+
+    /**
+     * Constructs the factory.
+     *
+     * @return Generator Factory
+     * @throws ReflectiveOperationException
+     *             If the factory cannot be instantiated
+     */
+    @Benchmark
+    public GeneratorFactory construct() throws ReflectiveOperationException {
+        return BenchmarkSupport.newGeneratorFactory(this.configuration);
+    }
+
+    /**
+     * Makes the factory of an execution sharing the Configuration resolved by a previous one, checking that it is still valid.
+     *
+     * @return Generator Factory
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    @Benchmark
+    public GeneratorFactory reuse() throws IOException {
+        return GeneratorFactory.getInstance(BenchmarkSupport.log(), this.configuration);
+    }
+
+}
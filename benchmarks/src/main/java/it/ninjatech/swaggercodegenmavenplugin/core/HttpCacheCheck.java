@@ -0,0 +1,204 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>
+ * Check of the {@link HttpCache} against a local HTTP server, serving a SWAGGER file with its <i>ETag</i> and answering the conditional
+ * requests. <br>
+ * It verifies that the content is downloaded once and then validated through the cache on disk, that in offline mode the server is never
+ * requested, with and without the cache on disk, and that the content not available offline is reported. The check fails, exiting with status
+ * 1, when one of the cases fails.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class HttpCacheCheck {
+
+    /** The Constant ETAG. */
+    private static final String ETAG = "\"v1\"";
+
+    /** Content served. */
+    private static final byte[] CONTENT = "swagger: '2.0'\ninfo:\n  title: Remote\n  version: 1.0.0\npaths: {}\n".getBytes(StandardCharsets.UTF_8);
+
+    /** Number of the requests received by the server. */
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+
+    /** Number of the failed cases. */
+    private static int failures;
+
+    /**
+     * Instantiates a new Http Cache Check.
+     */
+    private HttpCacheCheck() {
+    }
+
+    /**
+     * Runs the check.
+     *
+     * @param args
+     *            Not used
+     * @throws Exception
+     *             If the check can't be run
+     */
+    public static void main(String[] args) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", HttpCacheCheck::handle);
+        server.start();
+        File folder = BenchmarkSupport.createFolder();
+        try {
+            URL url = new URL(String.format("http://localhost:%d/swagger.yaml", server.getAddress().getPort()));
+
+            check("No cache, offline", () -> read(new HttpCache(BenchmarkSupport.log(), null, true), url), null, 0);
+            check("No cache", () -> read(new HttpCache(BenchmarkSupport.log(), null, false), url), CONTENT, 1);
+            check("Cache, offline, never downloaded", () -> read(new HttpCache(BenchmarkSupport.log(), folder, true), url), null, 0);
+            check("Cache, first download", () -> read(new HttpCache(BenchmarkSupport.log(), folder, false), url), CONTENT, 1);
+            check("Cache, not modified", () -> read(new HttpCache(BenchmarkSupport.log(), folder, false), url), CONTENT, 1);
+            check("Cache, offline", () -> read(new HttpCache(BenchmarkSupport.log(), folder, true), url), CONTENT, 0);
+            check("Cache, read once per instance", () -> {
+                HttpCache httpCache = new HttpCache(BenchmarkSupport.log(), folder, false);
+                read(httpCache, url);
+                return read(httpCache, url);
+            }, CONTENT, 1);
+        } finally {
+            server.stop(0);
+            BenchmarkSupport.deleteFolder(folder);
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs a case of the check, printing its result.
+     *
+     * @param name
+     *            Name of the case
+     * @param read
+     *            Read of the case
+     * @param expected
+     *            Expected content, <i>null</i> if the read must fail
+     * @param expectedRequests
+     *            Expected number of requests received by the server
+     */
+    private static void check(String name, Read read, byte[] expected, int expectedRequests) {
+        REQUESTS.set(0);
+        byte[] content = null;
+        IOException error = null;
+        try {
+            content = read.read();
+        } catch (IOException e) {
+            error = e;
+        }
+
+        String failure = null;
+        if (expected == null && error == null) {
+            failure = "the read has not failed";
+        } else if (expected != null && error != null) {
+            failure = String.format("the read has failed, %s", error.getMessage());
+        } else if (expected != null && !Arrays.equals(expected, content)) {
+            failure = "the content is different";
+        } else if (REQUESTS.get() != expectedRequests) {
+            failure = String.format("%d requests instead of %d", REQUESTS.get(), expectedRequests);
+        }
+        if (failure != null) {
+            failures++;
+        }
+        System.out.println(String.format("%-36s %s", name, failure == null ? "PASSED" : String.format("FAILED, %s", failure)));
+    }
+
+    /**
+     * Reads the passed URL through the passed Http Cache.
+     *
+     * @param httpCache
+     *            Http Cache
+     * @param url
+     *            URL
+     * @return Content
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static byte[] read(HttpCache httpCache, URL url) throws IOException {
+        return httpCache.read(url);
+    }
+
+    /**
+     * Serves the content, answering <i>304 Not Modified</i> to the conditional requests with the current <i>ETag</i>.
+     *
+     * @param exchange
+     *            Exchange
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void handle(HttpExchange exchange) throws IOException {
+        REQUESTS.incrementAndGet();
+        try {
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.sendResponseHeaders(200, CONTENT.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(CONTENT);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Read of a case of the check.
+     */
+    @FunctionalInterface
+    private interface Read {
+
+        /**
+         * Reads the content.
+         *
+         * @return Content
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        byte[] read() throws IOException;
+
+    }
+
+}
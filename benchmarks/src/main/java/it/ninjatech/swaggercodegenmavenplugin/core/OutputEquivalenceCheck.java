@@ -0,0 +1,278 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import it.ninjatech.swaggercodegenmavenplugin.mojo.GenerateMojo;
+
+/**
+ * <p>
+ * Output equivalence check of the plug-in. <br>
+ * It generates synthetic SWAGGER sources, with consecutive, interleaved and per operation interfaces, nested Models and inheritance families, in
+ * the default mode and then in the modes processing the Models a family at a time and the API's an interface at a time, low memory and shards,
+ * and verifies that the generated files are the same. These modes replicate the ordering of {@link io.swagger.codegen.DefaultGenerator} and
+ * {@link io.swagger.codegen.DefaultCodegen}, as the order of the children of the Models and of the examples of the responses, so the check guards
+ * them against a change of the Swagger CodeGen internals. <br>
+ * The default mode parses the source, then the source is generated again taking its parsed model from the ones kept for the life of the JVM, as a
+ * following execution or build does, and from the persistent cache, so that the check verifies also that a decoded model generates the same
+ * files as the parsed one. The other modes parse the source again, their shards taking it from the first one. <br>
+ * The date of the <i>@Generated</i> annotation is ignored. The check fails, exiting with status 1, when a mode generates different files.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class OutputEquivalenceCheck {
+
+    /** Prefix of the message logged when the model is taken from the ones parsed during the build or kept for the life of the JVM. */
+    private static final String WARM_MODEL_MESSAGE = "Using the model of";
+
+    /** Prefix of the message logged when the model is taken from the persistent cache. */
+    private static final String CACHED_MODEL_MESSAGE = "Using the cached model of";
+
+    /** Pattern of the date of the <i>@Generated</i> annotation. */
+    private static final Pattern GENERATED_DATE_PATTERN = Pattern.compile("(@javax\\.annotation\\.Generated\\(value = \"[^\"]*\", date = \")[^\"]*(\"\\))");
+
+    /** Sources of the check, with the paths of the interfaces consecutive and interleaved and with the interfaces on the operations. */
+    private static final SpecGenerator[] SPECS = { spec("Consecutive", false),
+                                                   spec("Interleaved", true),
+                                                   spec("OperationInterfaces", false).setOperationInterfaces(true) };
+
+    /**
+     * Private constructor.
+     */
+    private OutputEquivalenceCheck() {
+    }
+
+    /**
+     * Runs the check.
+     *
+     * @param args
+     *            Not used
+     * @throws Exception
+     *             If the check can't be run
+     */
+    public static void main(String[] args) throws Exception {
+        boolean failed = false;
+        File folder = BenchmarkSupport.createFolder();
+        try {
+            for (SpecGenerator spec : SPECS) {
+                File specFolder = new File(folder, spec.getTitle());
+                File source = spec.write(specFolder);
+                File cacheFolder = new File(specFolder, "cache");
+                BenchmarkSupport.clearWarmModels();
+                List<String> infos = Collections.synchronizedList(new ArrayList<>());
+                Map<String, String> expected = generate(source, new File(specFolder, "default"), cacheFolder, false, 1, infos);
+                System.out.println(String.format("%s: %d files", spec.getTitle(), expected.size()));
+                if (getModelMessage(infos) != null) {
+                    throw new IllegalStateException(String.format("The default mode has not parsed %s", source));
+                }
+
+                failed |= !check("Warm", expected, source, new File(specFolder, "warm"), null, false, 1, WARM_MODEL_MESSAGE);
+                BenchmarkSupport.clearWarmModels();
+                failed |= !check("Cached", expected, source, new File(specFolder, "cached"), cacheFolder, false, 1, CACHED_MODEL_MESSAGE);
+                BenchmarkSupport.clearWarmModels();
+                failed |= !check("Low memory", expected, source, new File(specFolder, "low-memory"), null, true, 1, null);
+                BenchmarkSupport.clearWarmModels();
+                failed |= !check("Shards", expected, source, new File(specFolder, "shards"), null, false, 3, null);
+                BenchmarkSupport.clearWarmModels();
+                failed |= !check("Low memory and shards", expected, source, new File(specFolder, "low-memory-shards"), null, true, 3, null);
+            }
+        } finally {
+            BenchmarkSupport.deleteFolder(folder);
+        }
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns the generator of a source of the check: interfaces, nested Models and inheritance families.
+     *
+     * @param title
+     *            Title of the source
+     * @param interleaved
+     *            Whether the paths of the interfaces are interleaved
+     * @return Spec Generator
+     */
+    private static SpecGenerator spec(String title, boolean interleaved) {
+        return new SpecGenerator(title).setPaths(120)
+                                       .setModels(40)
+                                       .setDepth(5)
+                                       .setTypeUsages(1)
+                                       .setTemplateUsages(1)
+                                       .setInlineSchemas(1)
+                                       .setFamilies(4)
+                                       .setInterleaved(interleaved);
+    }
+
+    /**
+     * Generates the source in a mode and compares the generated files with the ones generated by the default mode, printing the result.
+     *
+     * @param name
+     *            Name of the mode
+     * @param expected
+     *            Files generated by the default mode
+     * @param source
+     *            SWAGGER source
+     * @param folder
+     *            Working folder of the mode
+     * @param cacheFolder
+     *            Cache folder, <i>null</i> if the persistent cache is disabled
+     * @param lowMemory
+     *            Whether the low memory mode is enabled
+     * @param shards
+     *            Number of shards
+     * @param modelMessage
+     *            Prefix of the message logged when the model is reused as expected, <i>null</i> if the source is parsed
+     * @return true, if the files are the same
+     * @throws Exception
+     *             If the generation has failed
+     */
+    private static boolean check(String name,
+                                 Map<String, String> expected,
+                                 File source,
+                                 File folder,
+                                 File cacheFolder,
+                                 boolean lowMemory,
+                                 int shards,
+                                 String modelMessage)
+            throws Exception {
+        List<String> infos = Collections.synchronizedList(new ArrayList<>());
+        Map<String, String> actual = generate(source, folder, cacheFolder, lowMemory, shards, infos);
+
+        List<String> differences = new ArrayList<>();
+        for (String file : expected.keySet()) {
+            if (!expected.get(file).equals(actual.get(file))) {
+                differences.add(actual.containsKey(file) ? file : String.format("%s (missing)", file));
+            }
+        }
+        for (String file : actual.keySet()) {
+            if (!expected.containsKey(file)) {
+                differences.add(String.format("%s (unexpected)", file));
+            }
+        }
+
+        String failure = null;
+        if (modelMessage != null && !modelMessage.equals(getModelMessage(infos))) {
+            failure = "the model has not been reused";
+        } else if (!differences.isEmpty()) {
+            failure = String.format("%d different files", differences.size());
+        }
+        System.out.println(String.format("    %-24s %s", name, failure == null ? "PASSED" : String.format("FAILED, %s", failure)));
+        differences.forEach(e -> System.out.println(String.format("        %s", e)));
+
+        return failure == null;
+    }
+
+    /**
+     * Returns the prefix of the message logged when the model of the source is not parsed but taken from the ones kept for the life of the JVM
+     * or from the persistent cache.
+     *
+     * @param infos
+     *            Info messages of the execution
+     * @return Prefix of the logged message, <i>null</i> if the source has been parsed
+     */
+    private static String getModelMessage(List<String> infos) {
+        String result = null;
+
+        for (String info : infos) {
+            if (info.startsWith(WARM_MODEL_MESSAGE)) {
+                result = WARM_MODEL_MESSAGE;
+            } else if (info.startsWith(CACHED_MODEL_MESSAGE)) {
+                result = CACHED_MODEL_MESSAGE;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Generates the source in a mode.
+     *
+     * @param source
+     *            SWAGGER source
+     * @param folder
+     *            Working folder of the mode
+     * @param cacheFolder
+     *            Cache folder, <i>null</i> if the persistent cache is disabled
+     * @param lowMemory
+     *            Whether the low memory mode is enabled
+     * @param shards
+     *            Number of shards
+     * @param infos
+     *            Collected info messages of the execution
+     * @return Content of the generated files, without the date of the <i>@Generated</i> annotation, by path relative to the output folder
+     * @throws Exception
+     *             If the generation has failed
+     */
+    private static Map<String, String> generate(File source, File folder, File cacheFolder, boolean lowMemory, int shards, List<String> infos)
+            throws Exception {
+        Map<String, String> result = new TreeMap<>();
+
+        GenerateMojo mojo = BenchmarkSupport.newGenerateMojo(String.format("equivalence-%s", folder.getName()), source, folder, cacheFolder, lowMemory, shards);
+        mojo.setLog(BenchmarkSupport.log(infos));
+        mojo.execute();
+
+        Path outputFolder = new File(folder, "target/generated-sources").toPath();
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(outputFolder)) {
+            files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            result.put(outputFolder.relativize(file).toString(), read(file));
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads a generated file, without the date of the <i>@Generated</i> annotation.
+     *
+     * @param file
+     *            Generated file
+     * @return Content
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static String read(Path file) throws IOException {
+        return GENERATED_DATE_PATTERN.matcher(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).replaceAll("$1$2");
+    }
+
+}
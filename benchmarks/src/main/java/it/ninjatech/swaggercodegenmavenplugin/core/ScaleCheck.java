@@ -0,0 +1,211 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import it.ninjatech.swaggercodegenmavenplugin.mojo.GenerateMojo;
+
+/**
+ * <p>
+ * End to end scale check of the plug-in. <br>
+ * For each scenario it writes a synthetic SWAGGER source through {@link SpecGenerator}, runs the {@link GenerateMojo} on it, as a build with
+ * the persistent cache and the skipping of the unchanged sources disabled would do, and measures the wall time and the peak of the heap used
+ * during the execution. The check fails, exiting with status 1, when a scenario exceeds its ceilings. <br>
+ * The scenarios to run are passed as arguments, all of them when none is passed; the ceilings can be overridden through the system properties
+ * <i>scale.&lt;scenario&gt;.seconds</i> and <i>scale.&lt;scenario&gt;.heapMb</i>, while the system property <i>scale.lowMemory</i> runs the MOJO in
+ * low memory mode and <i>scale.shards</i> sets the number of shards each source is split into.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class ScaleCheck {
+
+    /** Scenarios by name. */
+    private static final Map<String, Scenario> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        addScenario(new Scenario(SpecGenerator.of(100), 30, 256));
+        addScenario(new Scenario(SpecGenerator.of(1000), 60, 512));
+        addScenario(new Scenario(SpecGenerator.of(10000), 300, 2048));
+        addScenario(new Scenario(new SpecGenerator("Nested").setPaths(500)
+                                                             .setModels(500)
+                                                             .setDepth(25)
+                                                             .setTypeUsages(4)
+                                                             .setTemplateUsages(4)
+                                                             .setInlineSchemas(2),
+                                 120,
+                                 1024));
+    }
+
+    /**
+     * Runs the scale check.
+     *
+     * @param args
+     *            Names of the scenarios to run, all of them when empty
+     * @throws Exception
+     *             If a scenario has failed
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> names = args.length > 0 ? Arrays.asList(args) : new ArrayList<>(SCENARIOS.keySet());
+        for (String name : names) {
+            if (!SCENARIOS.containsKey(name)) {
+                throw new IllegalArgumentException(String.format("Unknown scenario %s, available scenarios: %s", name, SCENARIOS.keySet()));
+            }
+        }
+
+        boolean failed = false;
+        System.out.println(String.format("%-12s %10s %12s %12s %12s %12s  %s", "Scenario", "Operations", "Time (s)", "Max (s)", "Heap (MB)", "Max (MB)", "Result"));
+        File folder = BenchmarkSupport.createFolder();
+        try {
+            for (String name : names) {
+                Scenario scenario = SCENARIOS.get(name);
+                long[] measure = run(scenario, new File(folder, name));
+                boolean passed = measure[0] <= scenario.seconds && measure[1] <= scenario.heapMb;
+                failed |= !passed;
+                System.out.println(String.format("%-12s %10d %12.1f %12d %12d %12d  %s",
+                                                 name,
+                                                 scenario.spec.getOperations(),
+                                                 measure[2] / 1000d,
+                                                 scenario.seconds,
+                                                 measure[1],
+                                                 scenario.heapMb,
+                                                 passed ? "PASSED" : "FAILED"));
+            }
+        } finally {
+            BenchmarkSupport.deleteFolder(folder);
+        }
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Adds a scenario, reading the overrides of its ceilings from the system properties.
+     *
+     * @param scenario
+     *            Scenario
+     */
+    private static void addScenario(Scenario scenario) {
+        String name = scenario.spec.getTitle();
+        scenario.seconds = Long.getLong(String.format("scale.%s.seconds", name), scenario.seconds);
+        scenario.heapMb = Long.getLong(String.format("scale.%s.heapMb", name), scenario.heapMb);
+        SCENARIOS.put(name, scenario);
+    }
+
+    /**
+     * Runs a scenario.
+     *
+     * @param scenario
+     *            Scenario
+     * @param folder
+     *            Working folder
+     * @return Wall time in seconds (rounded up), peak of the heap in MB and wall time in milliseconds
+     * @throws Exception
+     *             If the execution has failed
+     */
+    private static long[] run(Scenario scenario, File folder) throws Exception {
+        long[] result = new long[3];
+
+        File source = scenario.spec.write(folder);
+        GenerateMojo mojo = BenchmarkSupport.newGenerateMojo(String.format("scale-%s", scenario.spec.getTitle()),
+                                                             source,
+                                                             folder,
+                                                             Boolean.getBoolean("scale.lowMemory"),
+                                                             Integer.getInteger("scale.shards", 1));
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                memoryPool.resetPeakUsage();
+                heapPools.add(memoryPool);
+            }
+        }
+        long start = System.nanoTime();
+        mojo.execute();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long peak = 0;
+        for (MemoryPoolMXBean memoryPool : heapPools) {
+            peak += memoryPool.getPeakUsage().getUsed();
+        }
+
+        result[0] = (millis + 999) / 1000;
+        result[1] = peak / (1024 * 1024);
+        result[2] = millis;
+
+        return result;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private ScaleCheck() {
+    }
+
+    /**
+     * Scenario of the scale check: the source to generate and the ceilings of its execution.
+     */
+    private static final class Scenario {
+
+        /** Generator of the source. */
+        private final SpecGenerator spec;
+
+        /** Ceiling of the wall time, in seconds. */
+        private long seconds;
+
+        /** Ceiling of the peak of the heap, in MB. */
+        private long heapMb;
+
+        /**
+         * Instantiates a new Scenario.
+         *
+         * @param spec
+         *            Generator of the source
+         * @param seconds
+         *            Ceiling of the wall time, in seconds
+         * @param heapMb
+         *            Ceiling of the peak of the heap, in MB
+         */
+        private Scenario(SpecGenerator spec, long seconds, long heapMb) {
+            this.spec = spec;
+            this.seconds = seconds;
+            this.heapMb = heapMb;
+        }
+
+    }
+
+}
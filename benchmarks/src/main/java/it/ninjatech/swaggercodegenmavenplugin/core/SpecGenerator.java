@@ -0,0 +1,473 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * <p>
+ * Generator of synthetic SWAGGER sources used as fixtures by the benchmarks and by the {@link ScaleCheck}. <br>
+ * Each path has a GET and a POST and the paths are grouped in interfaces of 50 through the <i>x-nt-interface-name</i> extension, consecutive or
+ * interleaved, or optionally the GET's and the POST's are grouped in separate interfaces through the extension on the operations; the body of the
+ * POST is in turn a Model, an <i>x-nt-type</i> schema or a map of <i>x-nt-type</i> values. Each Model has
+ * four plain properties plus the configured number of <i>x-nt-type</i> properties, of <i>x-nt-type-templates</i> properties and of inline
+ * object properties; the Models refer one to the next in chains as long as the configured nesting depth and one Model out of five extends an
+ * external class through <i>x-nt-super-class</i>. The external types are the aliases {@link #DIRECT_MAP_PAIR} and
+ * {@link #DIRECT_MAP_MUTABLE_PAIR}. <br>
+ * Optionally the source has inheritance families: a base Model with a discriminator extended through <i>allOf</i> by several children, the
+ * first of them extended in turn by a grandchild, and two Models composed through <i>allOf</i> of one and of two Models without a
+ * discriminator.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class SpecGenerator {
+
+    /** Alias of the external type used by the fixtures. */
+    public static final String DIRECT_MAP_PAIR = "NTPair";
+
+    /** Alias of the external super class used by the fixtures. */
+    public static final String DIRECT_MAP_MUTABLE_PAIR = "NTMutablePair";
+
+    /** Paths grouped in each interface. */
+    private static final int PATHS_PER_INTERFACE = 50;
+
+    /** Children of the base Model of each inheritance family. */
+    private static final String[] FAMILY_CHILDREN = { "Cat", "Dog", "Bird", "Fish", "Zebra", "Ant", "Horse", "Lion" };
+
+    /**
+     * Returns the generator of the fixture with the passed number of operations: <i>n</i>/2 paths, <i>n</i>/4 Models nested in chains of 10, one
+     * <i>x-nt-type</i> and one <i>x-nt-type-templates</i> property for each Model.
+     *
+     * @param operations
+     *            Number of operations
+     * @return Spec Generator
+     */
+    public static SpecGenerator of(int operations) {
+        return new SpecGenerator(String.format("Spec%d", operations)).setPaths(Math.max(1, operations / 2))
+                                                                     .setModels(Math.max(1, operations / 4))
+                                                                     .setDepth(10)
+                                                                     .setTypeUsages(1)
+                                                                     .setTemplateUsages(1)
+                                                                     .setInlineSchemas(0);
+    }
+
+    /**
+     * Writes the fixture with the passed number of operations in the folder, unless already there.
+     *
+     * @param operations
+     *            Number of operations
+     * @param folder
+     *            Folder
+     * @return Fixture file
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @see #of(int)
+     */
+    public static File write(int operations, File folder) throws IOException {
+        return of(operations).write(folder);
+    }
+
+    /** Title of the source, also used as file name. */
+    private final String title;
+
+    /** Number of paths, each with two operations. */
+    private int paths;
+
+    /** Number of Models. */
+    private int models;
+
+    /** Length of the chains of Models referring one to the next. */
+    private int depth;
+
+    /** Number of <i>x-nt-type</i> properties for each Model. */
+    private int typeUsages;
+
+    /** Number of <i>x-nt-type-templates</i> properties for each Model. */
+    private int templateUsages;
+
+    /** Number of inline object properties for each Model, also used as inline response of one path out of four. */
+    private int inlineSchemas;
+
+    /** Number of inheritance families. */
+    private int families;
+
+    /** Whether the paths of the interfaces are interleaved. */
+    private boolean interleaved;
+
+    /** Whether the interfaces are set on the operations instead of on the paths. */
+    private boolean operationInterfaces;
+
+    /**
+     * Instantiates a new Spec Generator with one path and one Model.
+     *
+     * @param title
+     *            Title of the source, also used as file name
+     */
+    public SpecGenerator(String title) {
+        this.title = title;
+        this.paths = 1;
+        this.models = 1;
+        this.depth = 1;
+    }
+
+    /**
+     * Sets the number of paths, each with two operations.
+     *
+     * @param paths
+     *            Number of paths
+     * @return this
+     */
+    public SpecGenerator setPaths(int paths) {
+        this.paths = paths;
+
+        return this;
+    }
+
+    /**
+     * Sets the number of Models.
+     *
+     * @param models
+     *            Number of Models
+     * @return this
+     */
+    public SpecGenerator setModels(int models) {
+        this.models = Math.max(1, models);
+
+        return this;
+    }
+
+    /**
+     * Sets the length of the chains of Models referring one to the next.
+     *
+     * @param depth
+     *            Nesting depth, 1 for Models without references
+     * @return this
+     */
+    public SpecGenerator setDepth(int depth) {
+        this.depth = Math.max(1, depth);
+
+        return this;
+    }
+
+    /**
+     * Sets the number of <i>x-nt-type</i> properties for each Model.
+     *
+     * @param typeUsages
+     *            Number of properties
+     * @return this
+     */
+    public SpecGenerator setTypeUsages(int typeUsages) {
+        this.typeUsages = typeUsages;
+
+        return this;
+    }
+
+    /**
+     * Sets the number of <i>x-nt-type-templates</i> properties for each Model.
+     *
+     * @param templateUsages
+     *            Number of properties
+     * @return this
+     */
+    public SpecGenerator setTemplateUsages(int templateUsages) {
+        this.templateUsages = templateUsages;
+
+        return this;
+    }
+
+    /**
+     * Sets the number of inline object properties for each Model.
+     *
+     * @param inlineSchemas
+     *            Number of properties
+     * @return this
+     */
+    public SpecGenerator setInlineSchemas(int inlineSchemas) {
+        this.inlineSchemas = inlineSchemas;
+
+        return this;
+    }
+
+    /**
+     * Sets the number of inheritance families.
+     *
+     * @param families
+     *            Number of families
+     * @return this
+     */
+    public SpecGenerator setFamilies(int families) {
+        this.families = families;
+
+        return this;
+    }
+
+    /**
+     * Sets whether the paths of the interfaces are interleaved, one path of each interface after the other, instead of consecutive.
+     *
+     * @param interleaved
+     *            Whether the paths are interleaved
+     * @return this
+     */
+    public SpecGenerator setInterleaved(boolean interleaved) {
+        this.interleaved = interleaved;
+
+        return this;
+    }
+
+    /**
+     * Sets whether the interfaces are set on the operations, the GET's and the POST's in separate interfaces, instead of on the paths.
+     *
+     * @param operationInterfaces
+     *            Whether the interfaces are set on the operations
+     * @return this
+     */
+    public SpecGenerator setOperationInterfaces(boolean operationInterfaces) {
+        this.operationInterfaces = operationInterfaces;
+
+        return this;
+    }
+
+    /**
+     * Returns the title of the source, also used as file name.
+     *
+     * @return Title
+     */
+    public String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Returns the number of operations of the fixture.
+     *
+     * @return Number of operations
+     */
+    public int getOperations() {
+        return this.paths * 2;
+    }
+
+    /**
+     * Writes the fixture in the folder, unless already there.
+     *
+     * @param folder
+     *            Folder
+     * @return Fixture file
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public File write(File folder) throws IOException {
+        File result = new File(folder, String.format("%s.yaml", this.title));
+
+        if (!result.isFile()) {
+            Files.createDirectories(folder.toPath());
+            Files.write(result.toPath(), generate().getBytes(StandardCharsets.UTF_8));
+        }
+
+        return result;
+    }
+
+    /**
+     * Generates the fixture.
+     *
+     * @return SWAGGER source
+     */
+    public String generate() {
+        StringBuilder result = new StringBuilder();
+
+        result.append("swagger: '2.0'\n");
+        result.append(String.format("info: {title: %s, version: '1'}%n", this.title));
+        result.append("basePath: /spec\n");
+        result.append("paths:\n");
+        for (int i = 0; i < this.paths; i++) {
+            appendPath(result, i);
+        }
+        result.append("definitions:\n");
+        for (int i = 0; i < this.models; i++) {
+            appendModel(result, i);
+        }
+        for (int i = 0; i < this.families; i++) {
+            appendFamily(result, i);
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Appends a path with its GET and POST.
+     *
+     * @param spec
+     *            Source
+     * @param index
+     *            Index of the path
+     */
+    private void appendPath(StringBuilder spec, int index) {
+        String model = String.format("M%d", index % this.models);
+        int interfaces = (this.paths + PATHS_PER_INTERFACE - 1) / PATHS_PER_INTERFACE;
+        int interfaceIndex = this.interleaved ? index % interfaces : index / PATHS_PER_INTERFACE;
+
+        spec.append(String.format("  /r%d/{id}:%n", index));
+        if (!this.operationInterfaces) {
+            spec.append(String.format("    x-nt-interface-name: Resource%d%n", interfaceIndex));
+        }
+        spec.append("    get:\n");
+        if (this.operationInterfaces) {
+            spec.append(String.format("      x-nt-interface-name: Query%d%n", interfaceIndex));
+        }
+        spec.append(String.format("      operationId: get%d%n", index));
+        spec.append("      produces: [application/json]\n");
+        spec.append("      parameters:\n");
+        spec.append("        - {name: id, in: path, required: true, type: string}\n");
+        spec.append("        - {name: q, in: query, required: false, type: number, minimum: 1, maximum: 100}\n");
+        spec.append("        - {name: X-Header, in: header, required: false, type: string}\n");
+        spec.append("      responses:\n");
+        if (this.inlineSchemas > 0 && index % 4 == 1) {
+            spec.append(String.format("        '200': {description: ok, schema: {type: object, properties: {value: {type: string, x-nt-type: %s}, count: {type: integer}}}}%n",
+                                      DIRECT_MAP_PAIR));
+        } else if (index % 3 == 0) {
+            spec.append(String.format("        '200': {description: ok, schema: {type: string, x-nt-type: %s}}%n", DIRECT_MAP_PAIR));
+        } else {
+            spec.append(String.format("        '200': {description: ok, schema: {$ref: '#/definitions/%s'}}%n", model));
+        }
+        spec.append("        '404': {description: not found}\n");
+        spec.append("    post:\n");
+        if (this.operationInterfaces) {
+            spec.append(String.format("      x-nt-interface-name: Command%d%n", interfaceIndex));
+        }
+        spec.append(String.format("      operationId: post%d%n", index));
+        spec.append("      consumes: [application/json]\n");
+        spec.append("      parameters:\n");
+        spec.append("        - {name: id, in: path, required: true, type: string}\n");
+        if (index % 3 == 0) {
+            spec.append(String.format("        - {name: body, in: body, required: true, schema: {type: string, x-nt-type: %s}}%n", DIRECT_MAP_PAIR));
+        } else if (index % 3 == 1) {
+            spec.append(String.format("        - {name: body, in: body, required: true, schema: {type: object, additionalProperties: {type: string, x-nt-type: %s}}}%n",
+                                      DIRECT_MAP_PAIR));
+        } else {
+            spec.append(String.format("        - {name: body, in: body, required: true, schema: {$ref: '#/definitions/%s'}}%n", model));
+        }
+        spec.append("      responses:\n");
+        spec.append("        '201': {description: created}\n");
+    }
+
+    /**
+     * Appends a Model.
+     *
+     * @param spec
+     *            Source
+     * @param index
+     *            Index of the Model
+     */
+    private void appendModel(StringBuilder spec, int index) {
+        spec.append(String.format("  M%d:%n", index));
+        if (index % 5 == 0) {
+            spec.append(String.format("    x-nt-super-class: [%s]%n", DIRECT_MAP_MUTABLE_PAIR));
+            spec.append(String.format("    x-nt-super-class-templates: [%s, %s]%n", DIRECT_MAP_PAIR, DIRECT_MAP_PAIR));
+        }
+        spec.append("    type: object\n");
+        spec.append("    properties:\n");
+        spec.append("      a: {type: string}\n");
+        spec.append("      b: {type: integer, format: int64}\n");
+        spec.append("      c: {type: array, items: {type: string}}\n");
+        spec.append("      d: {type: string, format: date-time}\n");
+        for (int i = 0; i < this.typeUsages; i++) {
+            spec.append(String.format("      type%d: {type: string, x-nt-type: %s}%n", i, DIRECT_MAP_PAIR));
+        }
+        for (int i = 0; i < this.templateUsages; i++) {
+            spec.append(String.format("      template%d: {type: string, x-nt-type: %s, x-nt-type-templates: [%s, '?']}%n", i, DIRECT_MAP_PAIR, DIRECT_MAP_PAIR));
+        }
+        for (int i = 0; i < this.inlineSchemas; i++) {
+            spec.append(String.format("      inline%d: {type: object, properties: {value: {type: string, x-nt-type: %s}, items: {type: array, items: {type: string}}}}%n",
+                                      i,
+                                      DIRECT_MAP_PAIR));
+        }
+        if (index + 1 < this.models && (index + 1) % this.depth != 0) {
+            spec.append(String.format("      next: {$ref: '#/definitions/M%d'}%n", index + 1));
+        }
+    }
+
+    /**
+     * Appends an inheritance family.
+     *
+     * @param spec
+     *            Source
+     * @param index
+     *            Index of the family
+     */
+    private static void appendFamily(StringBuilder spec, int index) {
+        String base = String.format("Animal%d", index);
+
+        spec.append(String.format("  %s:%n", base));
+        spec.append("    type: object\n");
+        spec.append("    discriminator: kind\n");
+        spec.append("    required: [kind]\n");
+        spec.append("    properties:\n");
+        spec.append("      kind: {type: string}\n");
+        spec.append("      name: {type: string}\n");
+        for (String child : FAMILY_CHILDREN) {
+            appendChild(spec, String.format("%s%d", child, index), base);
+        }
+        appendChild(spec, String.format("Kitten%d", index), String.format("%s%d", FAMILY_CHILDREN[0], index));
+
+        String named = String.format("Named%d", index);
+        String tagged = String.format("Tagged%d", index);
+        spec.append(String.format("  %s:%n", named));
+        spec.append("    type: object\n");
+        spec.append("    properties:\n");
+        spec.append("      name: {type: string}\n");
+        spec.append("      age: {type: integer, minimum: 0, maximum: 100}\n");
+        spec.append(String.format("  %s:%n", tagged));
+        spec.append("    type: object\n");
+        spec.append("    properties:\n");
+        spec.append("      tag: {type: string}\n");
+        appendChild(spec, String.format("Pet%d", index), named);
+        appendChild(spec, String.format("Toy%d", index), named, tagged);
+    }
+
+    /**
+     * Appends a Model composed through <i>allOf</i> of other ones and of its own properties.
+     *
+     * @param spec
+     *            Source
+     * @param name
+     *            Model name
+     * @param parents
+     *            Composed Model names, the first is the parent when it has a discriminator
+     */
+    private static void appendChild(StringBuilder spec, String name, String... parents) {
+        spec.append(String.format("  %s:%n", name));
+        spec.append("    allOf:\n");
+        for (String parent : parents) {
+            spec.append(String.format("      - $ref: '#/definitions/%s'%n", parent));
+        }
+        spec.append("      - type: object\n");
+        spec.append("        properties:\n");
+        spec.append(String.format("          %s: {type: integer}%n", name.toLowerCase()));
+    }
+
+}
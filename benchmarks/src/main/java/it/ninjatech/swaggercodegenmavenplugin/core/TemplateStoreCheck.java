@@ -0,0 +1,215 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import io.swagger.codegen.CodegenConstants;
+import it.ninjatech.swaggercodegenmavenplugin.configuration.Configuration;
+
+/**
+ * <p>
+ * Golden output check of the {@link TemplateStore}. <br>
+ * It generates a synthetic SWAGGER source through the Generator of the plug-in and renders again each generated file with the same data as
+ * {@link io.swagger.codegen.DefaultGenerator} does, compiling the template and its partials through Mustache at each file, and verifies that the
+ * file rendered through the compiled template taken from the store has the same bytes. The bundled templates of the API's and of the Models and
+ * all their partials are checked. <br>
+ * The source is generated twice, so that the second generation takes all its templates already compiled from the store. The check fails,
+ * exiting with status 1, when a file is different.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class TemplateStoreCheck {
+
+    /**
+     * Private constructor.
+     */
+    private TemplateStoreCheck() {
+    }
+
+    /**
+     * Runs the check.
+     *
+     * @param args
+     *            Not used
+     * @throws Exception
+     *             If the check can't be run
+     */
+    public static void main(String[] args) throws Exception {
+        boolean failed = false;
+        File folder = BenchmarkSupport.createFolder();
+        try {
+            SpecGenerator spec = new SpecGenerator("Templates").setPaths(60)
+                                                               .setModels(30)
+                                                               .setDepth(4)
+                                                               .setTypeUsages(1)
+                                                               .setTemplateUsages(1)
+                                                               .setInlineSchemas(1)
+                                                               .setFamilies(2);
+            URL source = spec.write(folder).toURI().toURL();
+            Configuration configuration = BenchmarkSupport.configuration("template-store-check", folder, false);
+            GeneratorFactory generatorFactory = BenchmarkSupport.newGeneratorFactory(configuration);
+
+            failed |= !check("First generation", generatorFactory, source);
+            failed |= !check("Second generation", generatorFactory, source);
+        } finally {
+            BenchmarkSupport.deleteFolder(folder);
+        }
+
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Generates the source, comparing each generated file with the one rendered without the store, and prints the result by template.
+     *
+     * @param name
+     *            Name of the generation
+     * @param generatorFactory
+     *            Generator Factory
+     * @param source
+     *            SWAGGER source
+     * @return true, if all the files are the same
+     * @throws Exception
+     *             If the generation has failed
+     */
+    private static boolean check(String name, GeneratorFactory generatorFactory, URL source) throws Exception {
+        GoldenGenerator generator = new GoldenGenerator();
+        generator.opts(BenchmarkSupport.getField(generatorFactory.make(source, SourceStore.of(null)), "opts"));
+        generator.setGeneratorPropertyDefault(CodegenConstants.APIS, Boolean.TRUE.toString());
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODELS, Boolean.TRUE.toString());
+        generator.setGeneratorPropertyDefault(CodegenConstants.SUPPORTING_FILES, Boolean.FALSE.toString());
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_TESTS, Boolean.FALSE.toString());
+        generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_DOCS, Boolean.FALSE.toString());
+        generator.setGeneratorPropertyDefault(CodegenConstants.API_TESTS, Boolean.FALSE.toString());
+        generator.setGeneratorPropertyDefault(CodegenConstants.API_DOCS, Boolean.FALSE.toString());
+        generator.generate();
+
+        System.out.println(name);
+        for (Entry entry : generator.entries.values()) {
+            System.out.println(String.format("    %-36s %4d files %s",
+                                             entry.templateName,
+                                             entry.files,
+                                             entry.differences.isEmpty() ? "PASSED" : String.format("FAILED, %d different files", entry.differences.size())));
+            entry.differences.forEach(e -> System.out.println(String.format("        %s", e)));
+        }
+
+        return !generator.entries.isEmpty() && generator.entries.values().stream().allMatch(e -> e.differences.isEmpty());
+    }
+
+    /**
+     * Files rendered from a template.
+     */
+    private static final class Entry {
+
+        /** Template name. */
+        private final String templateName;
+
+        /** Number of the rendered files. */
+        private int files;
+
+        /** Files different from the ones rendered without the store. */
+        private final List<String> differences = new ArrayList<>();
+
+        /**
+         * Instantiates a new Entry.
+         *
+         * @param templateName
+         *            Template name
+         */
+        private Entry(String templateName) {
+            this.templateName = templateName;
+        }
+
+    }
+
+    /**
+     * Generator comparing each file it writes with the one rendered by {@link io.swagger.codegen.DefaultGenerator} without the store.
+     */
+    private static final class GoldenGenerator extends Generator {
+
+        /** Rendered files by template name. */
+        private final Map<String, Entry> entries = new TreeMap<>();
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see it.ninjatech.swaggercodegenmavenplugin.core.Generator#processTemplateToFile(java.util.Map, java.lang.String, java.lang.String)
+         */
+        @Override
+        protected File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) throws IOException {
+            File result = super.processTemplateToFile(templateData, templateName, outputFilename);
+
+            if (result != null) {
+                byte[] expected = render(templateData, templateName).getBytes(StandardCharsets.UTF_8);
+                byte[] actual = Files.readAllBytes(result.toPath());
+                Entry entry = this.entries.computeIfAbsent(templateName, Entry::new);
+                entry.files++;
+                if (!Arrays.equals(expected, actual)) {
+                    entry.differences.add(result.getName());
+                }
+            }
+
+            return result;
+        }
+
+        /**
+         * Renders a file as {@link io.swagger.codegen.DefaultGenerator} does, compiling the template and loading its partials through
+         * Mustache.
+         *
+         * @param templateData
+         *            Template data
+         * @param templateName
+         *            Template name
+         * @return Contents
+         */
+        private String render(Map<String, Object> templateData, String templateName) {
+            String templateFile = getFullTemplateFile(this.config, templateName);
+            Template template = this.config.processCompiler(Mustache.compiler())
+                                           .withLoader(name -> getTemplateReader(getFullTemplateFile(this.config, name + ".mustache")))
+                                           .defaultValue("")
+                                           .compile(readTemplate(templateFile));
+
+            return template.execute(templateData);
+        }
+
+    }
+
+}
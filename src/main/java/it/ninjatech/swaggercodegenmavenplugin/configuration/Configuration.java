@@ -35,7 +35,7 @@ import io.swagger.codegen.languages.AbstractJavaCodegen;
  * </p>
  *
  * @author Vincenzo Mazzeo
- * @version 2.0
+ * @version 3.0
  * @since 1.0.0
  */
 public class Configuration {
@@ -85,6 +85,21 @@ public class Configuration {
     /** Model's Name Suffix */
     private String modelNameSuffix;
 
+    /** Write Changed Files Only */
+    private boolean writeChangedFilesOnly;
+
+    /** Enable Cache */
+    private boolean enableCache;
+
+    /** Cache folder */
+    private File cacheFolder;
+
+    /** Offline */
+    private boolean offline;
+
+    /** Low memory */
+    private boolean lowMemory;
+
     /**
      * Instantiates a new configuration.
      *
@@ -116,6 +131,11 @@ public class Configuration {
         if (this.modelNameSuffix != null) {
             result.append("\n    Model's Name Suffix -> ").append(this.modelNameSuffix);
         }
+        result.append("\n    Write Changed Files Only -> ").append(this.writeChangedFilesOnly);
+        result.append("\n    Enable Cache -> ").append(this.enableCache);
+        if (this.enableCache) {
+            result.append("\n    Cache Folder -> ").append(this.cacheFolder);
+        }
 
         return result.toString();
     }
@@ -437,4 +457,116 @@ public class Configuration {
         return this;
     }
 
+    /**
+     * Returns if to write only the files whose content has changed.
+     * 
+     * @return If to write only the changed files
+     */
+    public boolean isWriteChangedFilesOnly() {
+        return this.writeChangedFilesOnly;
+    }
+
+    /**
+     * Sets if only the files whose content has changed must be written.
+     * 
+     * @param writeChangedFilesOnly
+     *            If only the changed files must be written
+     * @return The instance of the Configuration
+     */
+    public Configuration setWriteChangedFilesOnly(boolean writeChangedFilesOnly) {
+        this.writeChangedFilesOnly = writeChangedFilesOnly;
+
+        return this;
+    }
+
+    /**
+     * Returns if to enable the cache.
+     * 
+     * @return If to enable the cache
+     */
+    public boolean isEnableCache() {
+        return this.enableCache;
+    }
+
+    /**
+     * Sets if the cache has to be enabled.
+     * 
+     * @param enableCache
+     *            If the cache has to be enabled
+     * @return The instance of the Configuration
+     */
+    public Configuration setEnableCache(boolean enableCache) {
+        this.enableCache = enableCache;
+
+        return this;
+    }
+
+    /**
+     * Returns the cache folder.
+     * 
+     * @return Cache folder
+     */
+    public File getCacheFolder() {
+        return this.cacheFolder;
+    }
+
+    /**
+     * Sets the cache folder.
+     * 
+     * @param cacheFolder
+     *            Cache folder
+     * @return The instance of the Configuration
+     */
+    public Configuration setCacheFolder(File cacheFolder) {
+        this.cacheFolder = cacheFolder;
+
+        return this;
+    }
+
+    /**
+     * Returns if to work offline.
+     * 
+     * @return If to work offline
+     */
+    public boolean isOffline() {
+        return this.offline;
+    }
+
+    /**
+     * Sets if to work offline, reading the remote URL's from the cache only. <br>
+     * It is not part of the textual representation, because it doesn't change the generated files.
+     * 
+     * @param offline
+     *            If to work offline
+     * @return The instance of the Configuration
+     */
+    public Configuration setOffline(boolean offline) {
+        this.offline = offline;
+
+        return this;
+    }
+
+    /**
+     * Returns if to generate in low memory mode.
+     * 
+     * @return If to generate in low memory mode
+     */
+    public boolean isLowMemory() {
+        return this.lowMemory;
+    }
+
+    /**
+     * Sets if to generate in low memory mode, processing and rendering the Models and the API's a group at a time. <br>
+     * It is not part of the textual representation, because it doesn't change the generated files.
+     * 
+     * @param lowMemory
+     *            If to generate in low memory mode
+     * @return The instance of the Configuration
+     */
+    public Configuration setLowMemory(boolean lowMemory) {
+        this.lowMemory = lowMemory;
+
+        return this;
+    }
+
 }
@@ -0,0 +1,132 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * <p>
+ * Utility class to compute the SHA-256 checksums used to fingerprint sources, configurations and resources.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class Checksum {
+
+    /** Algorithm. */
+    private static final String ALGORITHM = "SHA-256";
+
+    /** Hexadecimal digits. */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Returns the checksum of the passed content.
+     *
+     * @param content
+     *            Content
+     * @return Checksum
+     */
+    public static String of(byte[] content) {
+        return toHex(newDigest().digest(content));
+    }
+
+    /**
+     * Returns the checksum of the passed content.
+     *
+     * @param content
+     *            Content
+     * @return Checksum
+     */
+    public static String of(String content) {
+        return of(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the checksum of the content linked by the passed URL.
+     *
+     * @param url
+     *            URL
+     * @return Checksum
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static String of(URL url) throws IOException {
+        MessageDigest digest = newDigest();
+
+        try (InputStream is = url.openStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Returns a new message digest.
+     *
+     * @return Message digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the hexadecimal representation of the passed bytes.
+     *
+     * @param bytes
+     *            Bytes
+     * @return Hexadecimal representation
+     */
+    private static String toHex(byte[] bytes) {
+        char[] result = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+            result[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+
+        return new String(result);
+    }
+
+    /**
+     * Private constructor.
+     */
+    private Checksum() {
+    }
+
+}
@@ -0,0 +1,337 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.plugin.logging.Log;
+
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Span;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Type;
+
+/**
+ * <p>
+ * Scanner of the classes belonging to a package, filtered by a {@link ClassTypeFilter}. <br>
+ * The locations of a package are looked up on the class loader and are walked in parallel on the common fork-join pool, as the packages are. The
+ * entries of the jars are read from their {@link TypeIndex}, if any, or from their central directory through a memory mapped file, once per jar,
+ * and the classes are never loaded.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class ClassScanner {
+
+    /** Extension of the class files. */
+    private static final String CLASS_EXTENSION = ".class";
+
+    /** Signature of the end of central directory record. */
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+    /** Size of the end of central directory record, without the comment. */
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+    /** Maximum size of the comment of a jar. */
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    /** Signature of the central directory file header. */
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+
+    /** Size of the central directory file header, without the variable fields. */
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+
+    /** The log. */
+    private final Log log;
+
+    /** Class loader. */
+    private final ClassLoader classLoader;
+
+    /** URL's of the indexes by the URL of the jar containing them. */
+    private final Map<String, URL> indexes;
+
+    /** Entries of the jars by URL. */
+    private final ConcurrentMap<String, List<String>> jarEntries;
+
+    /**
+     * Instantiates a new Class Scanner.
+     *
+     * @param log
+     *            Log
+     * @param classLoader
+     *            Class loader to look up the packages
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected ClassScanner(Log log, ClassLoader classLoader) throws IOException {
+        this.log = log;
+        this.classLoader = classLoader;
+        this.indexes = TypeIndex.locate(classLoader);
+        this.jarEntries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Scans the passed packages. <br>
+     * A package can end with the "**" wildcard to scan also its sub packages.
+     *
+     * @param packages
+     *            Packages to scan
+     * @return Fully qualified names of the classes found, for each package in the same order
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected List<List<String>> scan(List<String> packages) throws IOException {
+        try {
+            return packages.parallelStream().map(e -> uncheck(() -> scan(e))).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Scans a package.
+     *
+     * @param package_
+     *            Package to scan
+     * @return Fully qualified names of the classes found
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private List<String> scan(String package_) throws IOException {
+        List<String> result = null;
+
+        Span span = FlightEvents.begin(Type.PACKAGE_SCAN, null, package_);
+        try {
+            ClassTypeFilter filter = new ClassTypeFilter(package_);
+            String basePath = filter.getBasePackage().replace('.', '/') + "/";
+            List<URL> locations = Collections.list(this.classLoader.getResources(basePath));
+
+            result = locations.parallelStream()
+                              .flatMap(e -> uncheck(() -> scan(e, basePath, filter.isRecursive())).stream())
+                              .map(e -> e.substring(0, e.length() - CLASS_EXTENSION.length()).replace('/', '.'))
+                              .filter(filter::match)
+                              .distinct()
+                              .collect(Collectors.toList());
+        } finally {
+            span.end();
+        }
+
+        return result;
+    }
+
+    /**
+     * Scans a location of a package.
+     *
+     * @param location
+     *            Location of the package
+     * @param basePath
+     *            Path of the package
+     * @param recursive
+     *            Recursive flag
+     * @return Paths of the class files found, relative to the root of the location
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private List<String> scan(URL location, String basePath, boolean recursive) throws IOException {
+        List<String> result = null;
+
+        if ("jar".equals(location.getProtocol())) {
+            JarURLConnection connection = (JarURLConnection) location.openConnection();
+            URL jar = connection.getJarFileURL();
+            String prefix = connection.getEntryName();
+            URL index = this.indexes.get(jar.toString());
+            List<String> entries = null;
+            if (index != null) {
+                this.log.debug(String.format("Using the type index of %s", jar.toString()));
+                entries = this.jarEntries.computeIfAbsent(jar.toString(), e -> uncheck(() -> TypeIndex.load(index).getEntries()));
+            } else if ("file".equals(jar.getProtocol())) {
+                File file = toPath(jar).toFile();
+                entries = this.jarEntries.computeIfAbsent(jar.toString(), e -> uncheck(() -> readEntries(file)));
+            } else {
+                connection.setUseCaches(false);
+                try (JarFile jarFile = connection.getJarFile()) {
+                    entries = jarFile.stream().map(ZipEntry::getName).collect(Collectors.toList());
+                }
+            }
+            result = entries.stream()
+                            .filter(e -> e.startsWith(prefix) && e.endsWith(CLASS_EXTENSION))
+                            .filter(e -> recursive || e.indexOf('/', prefix.length()) < 0)
+                            .map(e -> basePath + e.substring(prefix.length()))
+                            .collect(Collectors.toList());
+        } else if ("file".equals(location.getProtocol())) {
+            Path folder = toPath(location);
+            try (Stream<Path> paths = Files.walk(folder, recursive ? Integer.MAX_VALUE : 1)) {
+                result = paths.filter(e -> e.toString().endsWith(CLASS_EXTENSION) && Files.isRegularFile(e))
+                              .sorted()
+                              .map(e -> basePath + folder.relativize(e).toString().replace(File.separatorChar, '/'))
+                              .collect(Collectors.toList());
+            }
+        } else {
+            this.log.warn(String.format("Unable to scan %s, unsupported location", location.toString()));
+            result = Collections.emptyList();
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the names of the entries of a jar from its central directory, mapping in memory only the end of the file. <br>
+     * The jars in ZIP64 format are read through a {@link ZipFile}.
+     *
+     * @param jar
+     *            Jar file
+     * @return Names of the entries
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static List<String> readEntries(File jar) throws IOException {
+        List<String> result = null;
+
+        try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int tailSize = (int) Math.min(size, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+            MappedByteBuffer tail = channel.map(MapMode.READ_ONLY, size - tailSize, tailSize);
+            tail.order(ByteOrder.LITTLE_ENDIAN);
+
+            int end = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE;
+            while (end >= 0 && tail.getInt(end) != END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                end--;
+            }
+            if (end < 0) {
+                throw new ZipException(String.format("%s is not a valid jar, end of central directory not found", jar));
+            }
+
+            int entries = tail.getShort(end + 10) & 0xFFFF;
+            long centralDirectorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+            long centralDirectoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+            if (entries == 0xFFFF || centralDirectorySize == 0xFFFFFFFFL || centralDirectoryOffset == 0xFFFFFFFFL) {
+                try (ZipFile zipFile = new ZipFile(jar)) {
+                    result = zipFile.stream().map(ZipEntry::getName).collect(Collectors.toList());
+                }
+            } else {
+                // The position is computed from the end, as the JDK does, to support the jars having data before the first entry
+                long centralDirectoryPosition = size - tailSize + end - centralDirectorySize;
+                MappedByteBuffer centralDirectory = channel.map(MapMode.READ_ONLY, centralDirectoryPosition, centralDirectorySize);
+                centralDirectory.order(ByteOrder.LITTLE_ENDIAN);
+
+                result = new ArrayList<>(entries);
+                int position = 0;
+                for (int i = 0; i < entries; i++) {
+                    if (centralDirectory.getInt(position) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+                        throw new ZipException(String.format("%s is not a valid jar, invalid central directory", jar));
+                    }
+                    int nameLength = centralDirectory.getShort(position + 28) & 0xFFFF;
+                    int extraLength = centralDirectory.getShort(position + 30) & 0xFFFF;
+                    int commentLength = centralDirectory.getShort(position + 32) & 0xFFFF;
+                    byte[] name = new byte[nameLength];
+                    centralDirectory.position(position + CENTRAL_DIRECTORY_HEADER_SIZE);
+                    centralDirectory.get(name);
+                    result.add(new String(name, StandardCharsets.UTF_8));
+                    position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the path of a file URL.
+     *
+     * @param url
+     *            File URL
+     * @return Path
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static Path toPath(URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Runs an I/O action, rethrowing its exception unchecked so that it can be used in a stream.
+     *
+     * @param action
+     *            Action
+     * @return Result of the action
+     */
+    private static <T> T uncheck(IOAction<T> action) {
+        try {
+            return action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * I/O action.
+     *
+     * @param <T>
+     *            Type of the result
+     */
+    @FunctionalInterface
+    private interface IOAction<T> {
+
+        /**
+         * Runs the action.
+         *
+         * @return Result
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        T run() throws IOException;
+
+    }
+
+}
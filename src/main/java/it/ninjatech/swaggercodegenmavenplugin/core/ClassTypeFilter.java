@@ -23,26 +23,21 @@ SOFTWARE.
  */
 package it.ninjatech.swaggercodegenmavenplugin.core;
 
-import java.io.IOException;
-
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.core.type.ClassMetadata;
-import org.springframework.core.type.classreading.MetadataReader;
-import org.springframework.core.type.classreading.MetadataReaderFactory;
-import org.springframework.core.type.filter.TypeFilter;
 
 /**
  * <p>
  * Type Filter used to filter the classes during the package scanning. <br>
  * Filters all the classes belonging to the <i>base package</i> passed as input and all the classes of its sub packages if the "**" wildcard has been
- * specified.
+ * specified. <br>
+ * The decision is taken from the binary name of the class only, so the scanned classes are never read nor loaded.
  * </p>
  * 
  * @author Vincenzo Mazzeo
- * @version 1.0
+ * @version 2.0
  * @since 1.0.0
  */
-public class ClassTypeFilter implements TypeFilter {
+public class ClassTypeFilter {
 
     /** The Constant RECURSIVE_PATTERN. */
     private static final String RECURSIVE_PATTERN = ".**";
@@ -64,48 +59,60 @@ public class ClassTypeFilter implements TypeFilter {
         this.basePackage = this.recursive ? basePackage.substring(0, basePackage.length() - RECURSIVE_PATTERN.length()) : basePackage;
     }
 
-    /*
-     * (non-Javadoc)
-     * 
-     * @see
-     * org.springframework.core.type.filter.TypeFilter#match(org.springframework.
-     * core.type.classreading.MetadataReader,
-     * org.springframework.core.type.classreading.MetadataReaderFactory)
+    /**
+     * Returns the base package, without the "**" wildcard.
+     *
+     * @return Base package
+     */
+    protected String getBasePackage() {
+        return this.basePackage;
+    }
+
+    /**
+     * Returns if the sub packages of the base package have to be scanned too.
+     *
+     * @return Recursive flag
      */
-    @Override
-    public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) throws IOException {
-        return match(metadataReader.getClassMetadata());
+    protected boolean isRecursive() {
+        return this.recursive;
     }
 
     /**
      * Matching method. <br>
      * Return <i>true</i> if the class belongs to the base package or one of its sub packages if the "**" wildcard has been specified.
      *
-     * @param metadata
-     *            Metadata of the class to check
+     * @param className
+     *            Binary name of the class to check
      * @return true, if successful
-     * @throws IOException
-     *             Signals that an I/O exception has occurred.
      */
-    public boolean match(ClassMetadata metadata) throws IOException {
+    public boolean match(String className) {
         boolean result = false;
 
-        try {
-            Class<?> type = Class.forName(metadata.getClassName());
-            if (metadata.isAbstract() || metadata.isConcrete()) {
-                if (this.recursive) {
-                    result = StringUtils.startsWith(type.getPackage().getName(),
-                                                    this.basePackage);
-                } else {
-                    result = StringUtils.equals(type.getPackage().getName(),
-                                                this.basePackage);
-                }
-            }
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
+        String packageName = getPackageName(className);
+        if (this.recursive) {
+            result = StringUtils.startsWith(packageName, this.basePackage);
+        } else {
+            result = StringUtils.equals(packageName, this.basePackage);
         }
 
         return result;
     }
 
+    /**
+     * Returns the package of a class derived from its binary name, without loading the class. <br>
+     * The nested classes are separated from their enclosing class by a "$", so the last "." always separates the package from the class name.
+     *
+     * @param className
+     *            Binary name of the class
+     * @return the Package name, empty for the default package
+     */
+    private static String getPackageName(String className) {
+        String result = null;
+
+        int index = className.lastIndexOf('.');
+        result = index < 0 ? StringUtils.EMPTY : className.substring(0, index);
+
+        return result;
+    }
+
 }
@@ -23,15 +23,17 @@ SOFTWARE.
  */
 package it.ninjatech.swaggercodegenmavenplugin.core;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.codehaus.plexus.util.StringUtils;
 
-import com.fasterxml.jackson.databind.JsonNode;
-
+import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.CodegenModel;
 import io.swagger.codegen.CodegenOperation;
 import io.swagger.codegen.CodegenParameter;
@@ -39,14 +41,23 @@ import io.swagger.codegen.CodegenProperty;
 import io.swagger.codegen.CodegenResponse;
 import io.swagger.codegen.CodegenSecurity;
 import io.swagger.codegen.CodegenType;
+import io.swagger.codegen.DefaultCodegen;
 import io.swagger.codegen.languages.SpringCodegen;
+import io.swagger.models.ArrayModel;
 import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
 import io.swagger.models.Operation;
+import io.swagger.models.Path;
 import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
 import io.swagger.models.properties.Property;
 import io.swagger.models.properties.PropertyBuilder;
 import io.swagger.models.properties.PropertyBuilder.PropertyId;
-import io.swagger.util.Json;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Span;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Type;
 
 /**
  * <p>
@@ -56,7 +67,7 @@ import io.swagger.util.Json;
  * </p>
  * 
  * @author Vincenzo Mazzeo
- * @version 4.0
+ * @version 5.0
  * @since 1.0.0
  */
 public final class Codegen extends SpringCodegen {
@@ -74,19 +85,44 @@ public final class Codegen extends SpringCodegen {
     protected static final String BASE_PATH_AS_ROOT = "basePathAsRoot";
 
     /** X_TYPE. */
-    private static final String X_TYPE = "x-nt-type";
+    protected static final String X_TYPE = "x-nt-type";
 
     /** X_SUPER_CLASS. */
-    private static final String X_SUPER_CLASS = "x-nt-super-class";
+    protected static final String X_SUPER_CLASS = "x-nt-super-class";
 
     /** X_INTERFACE_NAME. */
-    private static final String X_INTERFACE_NAME = "x-nt-interface-name";
+    protected static final String X_INTERFACE_NAME = "x-nt-interface-name";
 
     /** X_TYPE_TEMPLATES. */
-    private static final String X_TYPE_TEMPLATES = "x-nt-type-templates";
+    protected static final String X_TYPE_TEMPLATES = "x-nt-type-templates";
 
     /** X_SUPER_CLASS_TEMPLATES. */
-    private static final String X_SUPER_CLASS_TEMPLATES = "x-nt-super-class-templates";
+    protected static final String X_SUPER_CLASS_TEMPLATES = "x-nt-super-class-templates";
+
+    /** Extensions handled by the Codegen. */
+    protected static final Set<String> EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(X_TYPE,
+                                                                                                           X_SUPER_CLASS,
+                                                                                                           X_INTERFACE_NAME,
+                                                                                                           X_TYPE_TEMPLATES,
+                                                                                                           X_SUPER_CLASS_TEMPLATES)));
+
+    /** Index of the extensions of the SWAGGER source, built by {@link #preprocessSwagger(Swagger)}. */
+    private ExtensionIndex extensionIndex;
+
+    /** Body parameter being converted by {@link #fromParameter(Parameter, Set)}. */
+    private BodyParameter bodyParameter;
+
+    /** Number of lookups of the external types, as property types and as imports. */
+    private int typeLookups;
+
+    /**
+     * Returns the number of lookups of the external types made while converting the Models and the operations.
+     *
+     * @return Number of lookups
+     */
+    public int getTypeLookups() {
+        return this.typeLookups;
+    }
 
     /*
      * (non-Javadoc)
@@ -150,8 +186,10 @@ public final class Codegen extends SpringCodegen {
 
         if ("string".equalsIgnoreCase(swaggerType) && property.getVendorExtensions().containsKey(X_TYPE)) {
             swaggerType = (String) property.getVendorExtensions().get(X_TYPE);
+            this.typeLookups++;
         } else if ("string".equalsIgnoreCase(swaggerType) && property.getFormat() != null && property.getFormat().startsWith("x-")) {
             swaggerType = property.getFormat().substring("x-".length());
+            this.typeLookups++;
         }
 
         return swaggerType;
@@ -168,15 +206,26 @@ public final class Codegen extends SpringCodegen {
     @SuppressWarnings("unchecked")
     @Override
     public Map<String, Object> postProcessModels(Map<String, Object> objs) {
+        Map<String, Object> result = null;
+
         List<Map<String, ?>> modelMaps = (List<Map<String, ?>>) objs.get("models");
+        Span span = FlightEvents.begin(Type.POST_PROCESS_MODELS,
+                                       this.inputSpec,
+                                       modelMaps.isEmpty() ? null : ((CodegenModel) modelMaps.get(0).get("model")).classname);
+        try {
+            ImportRegistry imports = ImportRegistry.of(objs);
+            for (Map<String, ?> modelsMap : modelMaps) {
+                CodegenModel model = (CodegenModel) modelsMap.get("model");
+                handleSuperClass(model, imports);
+                handleTemplateVars(model, imports);
+            }
 
-        for (Map<String, ?> modelsMap : modelMaps) {
-            CodegenModel model = (CodegenModel) modelsMap.get("model");
-            handleSuperClass(model, objs);
-            handleTemplateVars(model, objs);
+            result = super.postProcessModels(objs);
+        } finally {
+            span.end();
         }
 
-        return super.postProcessModels(objs);
+        return result;
     }
 
     /**
@@ -191,9 +240,30 @@ public final class Codegen extends SpringCodegen {
     @SuppressWarnings("unchecked")
     @Override
     public Map<String, Object> postProcessOperations(Map<String, Object> objs) {
+        Map<String, Object> result = null;
+
         Map<String, ?> operationLists = (Map<String, ?>) objs.get("operations");
-        List<CodegenOperation> operations = (List<CodegenOperation>) operationLists.get("operation");
+        Span span = FlightEvents.begin(Type.POST_PROCESS_OPERATIONS, this.inputSpec, (String) operationLists.get("classname"));
+        try {
+            result = postProcessOperations(objs, (List<CodegenOperation>) operationLists.get("operation"));
+        } finally {
+            span.end();
+        }
 
+        return result;
+    }
+
+    /**
+     * Handles the usage of the external Model classes as parameter of the API's, as {@link #postProcessOperations(Map)}.
+     *
+     * @param objs
+     *            objects
+     * @param operations
+     *            operations of the API
+     * @return objects
+     */
+    private Map<String, Object> postProcessOperations(Map<String, Object> objs, List<CodegenOperation> operations) {
+        ImportRegistry imports = ImportRegistry.of(objs);
         for (CodegenOperation operation : operations) {
             if (this.typeMapping.containsKey(operation.returnBaseType)) {
                 operation.returnBaseType = this.typeMapping.get(operation.returnBaseType);
@@ -212,7 +282,10 @@ public final class Codegen extends SpringCodegen {
             // imports.
             if (operation.getHasBodyParam() && operation.bodyParam.vendorExtensions.containsKey(X_TYPE)) {
                 CodegenParameter bodyParam = operation.bodyParam;
-                addImport(objs, bodyParam.baseType);
+                addImport(imports, bodyParam.baseType);
+                if (bodyParam.isMapContainer) {
+                    addImport(imports, "Map");
+                }
             }
         }
 
@@ -232,33 +305,114 @@ public final class Codegen extends SpringCodegen {
      */
     @Override
     public void postProcessParameter(CodegenParameter parameter) {
-        if (parameter.isBodyParam && StringUtils.isNotBlank(parameter.jsonSchema)) {
-            try {
-                JsonNode rootNode = Json.mapper().readTree(parameter.jsonSchema);
-                JsonNode schemaNode = rootNode.findPath("schema");
-                if (!schemaNode.isMissingNode()) {
-                    JsonNode xTypeNode = schemaNode.findPath(X_TYPE);
-                    if (!xTypeNode.isMissingNode()) {
-                        Map<String, Object> vendorExtensions = Collections.singletonMap(X_TYPE, xTypeNode.asText());
-                        if (!parameter.isContainer) {
-                            Property property = PropertyBuilder.build(parameter.baseType.toLowerCase(), null,
-                                                                      Collections.singletonMap(PropertyId.VENDOR_EXTENSIONS, vendorExtensions));
-                            String type = getSwaggerType(property);
-                            parameter.baseType = type;
-                            parameter.dataType = this.typeMapping.get(type);
-                        }
-                        parameter.isPrimitiveType = true;
-                        parameter.vendorExtensions.putAll(vendorExtensions);
-                    }
+        if (parameter.isBodyParam && this.bodyParameter != null) {
+            String xType = getXType(this.bodyParameter.getSchema());
+            if (xType != null) {
+                Map<String, Object> vendorExtensions = Collections.singletonMap(X_TYPE, xType);
+                Property additionalProperties = getAdditionalProperties(this.bodyParameter.getSchema());
+                if (additionalProperties != null) {
+                    // The map bodies are converted as Object, their values are read here as the array bodies are
+                    CodegenProperty property = fromProperty("inner", new MapProperty(additionalProperties));
+                    parameter.items = property;
+                    parameter.baseType = property.complexType;
+                    parameter.dataType = property.datatype;
+                    parameter.isContainer = true;
+                    parameter.isMapContainer = true;
+                } else if (!parameter.isContainer) {
+                    Property property = PropertyBuilder.build(parameter.baseType.toLowerCase(), null,
+                                                              Collections.singletonMap(PropertyId.VENDOR_EXTENSIONS, vendorExtensions));
+                    String type = getSwaggerType(property);
+                    parameter.baseType = type;
+                    parameter.dataType = this.typeMapping.get(type);
                 }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+                parameter.isPrimitiveType = true;
+                parameter.vendorExtensions.putAll(vendorExtensions);
             }
         }
 
         super.postProcessParameter(parameter);
     }
 
+    /**
+     * Overridden to keep the {@link BodyParameter} being converted, so that {@link #postProcessParameter(CodegenParameter)} reads its external
+     * type from the parsed schema instead of parsing again its JSON serialization.
+     * 
+     * @see io.swagger.codegen.DefaultCodegen#fromParameter(Parameter, Set)
+     */
+    @Override
+    public CodegenParameter fromParameter(Parameter param, Set<String> imports) {
+        CodegenParameter result = null;
+
+        this.bodyParameter = param instanceof BodyParameter ? (BodyParameter) param : null;
+        try {
+            result = super.fromParameter(param, imports);
+        } finally {
+            this.bodyParameter = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the external type of the schema of a body parameter, looked up on the schema itself and then on the items of the arrays and maps it
+     * contains.
+     *
+     * @param model
+     *            Schema of the body parameter
+     * @return External type, <i>null</i> if the schema has no {@value #X_TYPE} extension
+     */
+    protected static String getXType(Model model) {
+        String result = null;
+
+        if (model != null) {
+            Object xType = model.getVendorExtensions() != null ? model.getVendorExtensions().get(X_TYPE) : null;
+            if (xType != null) {
+                result = xType.toString();
+            } else if (model instanceof ArrayModel) {
+                result = getXType(((ArrayModel) model).getItems());
+            } else {
+                result = getXType(getAdditionalProperties(model));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the values of a map schema.
+     *
+     * @param model
+     *            Schema of the body parameter
+     * @return Values of the map, <i>null</i> if the schema is not a map
+     */
+    private static Property getAdditionalProperties(Model model) {
+        return model instanceof ModelImpl ? ((ModelImpl) model).getAdditionalProperties() : null;
+    }
+
+    /**
+     * Returns the external type of a property, looked up on the property itself and then on the items of the arrays and maps.
+     *
+     * @param property
+     *            Property
+     * @return External type, <i>null</i> if the property has no {@value #X_TYPE} extension
+     */
+    private static String getXType(Property property) {
+        String result = null;
+
+        if (property != null) {
+            Object xType = property.getVendorExtensions() != null ? property.getVendorExtensions().get(X_TYPE) : null;
+            if (xType != null) {
+                result = xType.toString();
+            } else if (property instanceof ArrayProperty) {
+                result = getXType(((ArrayProperty) property).getItems());
+            } else if (property instanceof MapProperty) {
+                result = getXType(((MapProperty) property).getAdditionalProperties());
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Overriden to handle the API interfaces suffix.
      * 
@@ -282,7 +436,7 @@ public final class Codegen extends SpringCodegen {
     }
 
     /**
-     * Overriden to handle base path.
+     * Overriden to handle base path and to index and validate the extensions, failing before any file is rendered.
      * 
      * @see io.swagger.codegen.languages.SpringCodegen#preprocessSwagger(Swagger)
      * 
@@ -293,6 +447,17 @@ public final class Codegen extends SpringCodegen {
     public void preprocessSwagger(Swagger swagger) {
         super.preprocessSwagger(swagger);
 
+        this.extensionIndex = ExtensionIndex.build(swagger,
+                                                   Boolean.TRUE.equals(this.additionalProperties.get(CodegenConstants.GENERATE_APIS)),
+                                                   Boolean.TRUE.equals(this.additionalProperties.get(CodegenConstants.GENERATE_MODELS)));
+        for (String warning : this.extensionIndex.getWarnings(this, swagger.getDefinitions())) {
+            DefaultCodegen.LOGGER.warn(warning);
+        }
+        List<String> errors = this.extensionIndex.getErrors(this);
+        if (!errors.isEmpty()) {
+            throw new RuntimeException(String.format("Invalid extensions:%n    %s", String.join(String.format("%n    "), errors)));
+        }
+
         if ((boolean) this.additionalProperties.get(BASE_PATH_AS_ROOT)
             && StringUtils.isBlank(swagger.getBasePath())) {
             this.additionalProperties.put(BASE_PATH_AS_ROOT, false);
@@ -319,10 +484,37 @@ public final class Codegen extends SpringCodegen {
     public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, Map<String, Model> definitions, Swagger swagger) {
         CodegenOperation result = null;
 
-        if (swagger.getPath(path).getVendorExtensions().containsKey(X_INTERFACE_NAME)) {
-            operation.setVendorExtension(X_INTERFACE_NAME, swagger.getPath(path).getVendorExtensions().get(X_INTERFACE_NAME));
+        Span span = FlightEvents.begin(Type.OPERATION,
+                                       this.inputSpec,
+                                       operation.getOperationId() != null ? operation.getOperationId() : String.format("%s %s", httpMethod, path));
+        try {
+            String interfaceName = this.extensionIndex.getInterfaceName(path);
+            if (interfaceName != null) {
+                operation.setVendorExtension(X_INTERFACE_NAME, interfaceName);
+            }
+            result = super.fromOperation(path, httpMethod, operation, definitions, swagger);
+        } finally {
+            span.end();
+        }
+
+        return result;
+    }
+
+    /**
+     * Overridden to record the conversion of the Model as a {@link FlightEvents} span.
+     * 
+     * @see io.swagger.codegen.languages.AbstractJavaCodegen#fromModel(String, Model, Map)
+     */
+    @Override
+    public CodegenModel fromModel(String name, Model model, Map<String, Model> allDefinitions) {
+        CodegenModel result = null;
+
+        Span span = FlightEvents.begin(Type.MODEL, this.inputSpec, name);
+        try {
+            result = super.fromModel(name, model, allDefinitions);
+        } finally {
+            span.end();
         }
-        result = super.fromOperation(path, httpMethod, operation, definitions, swagger);
 
         return result;
     }
@@ -353,27 +545,60 @@ public final class Codegen extends SpringCodegen {
                                   operations);
     }
 
+    /**
+     * Returns the API the operations of a path are grouped in by {@link #addOperationToGroup(String, String, Operation, CodegenOperation, Map)},
+     * without converting them.
+     *
+     * @param resourcePath
+     *            Path
+     * @param path
+     *            Operations of the path
+     * @return API, <i>null</i> if the API depends on the tags or on the extensions of the single operations
+     */
+    protected String getApiGroup(String resourcePath, Path path) {
+        String result = null;
+
+        String interfaceName = this.extensionIndex.getInterfaceName(resourcePath);
+        if ((DEFAULT_LIBRARY.equals(this.library) || SPRING_MVC_LIBRARY.equals(this.library))
+            && !this.useTags
+            && (interfaceName != null || path.getOperations().stream().noneMatch(e -> e.getVendorExtensions().containsKey(X_INTERFACE_NAME)))) {
+            result = interfaceName != null ? interfaceName : resourcePath;
+            if (result.startsWith("/")) {
+                result = result.substring(1);
+            }
+            int index = result.indexOf('/');
+            if (index > 0) {
+                result = result.substring(0, index);
+            }
+            if (result.isEmpty()) {
+                result = "default";
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Model super class management.
      *
      * @param model
      *            model
-     * @param objs
-     *            objs
+     * @param imports
+     *            imports
      */
     @SuppressWarnings("unchecked")
-    private void handleSuperClass(CodegenModel model, Map<String, Object> objs) {
+    private void handleSuperClass(CodegenModel model, ImportRegistry imports) {
         if (model.vendorExtensions.containsKey(X_SUPER_CLASS)) {
             List<String> superClasses = (List<String>) model.vendorExtensions.get(X_SUPER_CLASS);
             if (superClasses.size() != 1) {
                 throw new RuntimeException(String.format("%s extensions must have one and only one value", X_SUPER_CLASS));
             }
             String superClass = superClasses.get(0);
-            addImport(objs, superClass);
+            addImport(imports, superClass);
             model.parent = this.typeMapping.get(superClass);
 
             if (model.vendorExtensions.containsKey(X_SUPER_CLASS_TEMPLATES)) {
-                model.parent = handleTemplates(model.parent, (List<String>) model.vendorExtensions.get(X_SUPER_CLASS_TEMPLATES), objs);
+                model.parent = handleTemplates(model.parent, (List<String>) model.vendorExtensions.get(X_SUPER_CLASS_TEMPLATES), imports);
             }
         }
     }
@@ -383,14 +608,14 @@ public final class Codegen extends SpringCodegen {
      *
      * @param model
      *            model
-     * @param objs
-     *            objs
+     * @param imports
+     *            imports
      */
     @SuppressWarnings("unchecked")
-    private void handleTemplateVars(CodegenModel model, Map<String, Object> objs) {
+    private void handleTemplateVars(CodegenModel model, ImportRegistry imports) {
         List<CodegenProperty> templateVars = model.allVars.stream().filter(e -> e.vendorExtensions.containsKey(X_TYPE_TEMPLATES)).collect(Collectors.toList());
         for (CodegenProperty templateVar : templateVars) {
-            String templateType = handleTemplates(templateVar.baseType, (List<String>) templateVar.vendorExtensions.get(X_TYPE_TEMPLATES), objs);
+            String templateType = handleTemplates(templateVar.baseType, (List<String>) templateVar.vendorExtensions.get(X_TYPE_TEMPLATES), imports);
             templateVar.baseType = templateType;
             templateVar.complexType = templateType;
             templateVar.datatype = templateType;
@@ -405,15 +630,15 @@ public final class Codegen extends SpringCodegen {
      *            base type
      * @param templates
      *            templates
-     * @param objs
-     *            objs
+     * @param imports
+     *            imports
      * @return base type with templates
      */
-    private String handleTemplates(String type, List<String> templates, Map<String, Object> objs) {
+    private String handleTemplates(String type, List<String> templates, ImportRegistry imports) {
         String result = null;
 
         if (!templates.isEmpty()) {
-            templates.stream().filter(e -> !e.equals("?")).forEach(e -> addImport(objs, e));
+            templates.stream().filter(e -> !e.equals("?")).forEach(e -> addImport(imports, e));
             result = String.format("%s<%s>",
                                    type,
                                    templates.stream().map(e -> this.typeMapping.containsKey(e) ? this.typeMapping.get(e) : e).collect(Collectors.joining(", ")));
@@ -427,31 +652,20 @@ public final class Codegen extends SpringCodegen {
     /**
      * Adds the import of the external Model classes.
      *
-     * @param objs
-     *            Objects
+     * @param imports
+     *            Imports of the bundle
      * @param alias
      *            Alias of the class to import
      */
-    @SuppressWarnings("unchecked")
-    private void addImport(Map<String, Object> objs, String alias) {
-        List<Map<String, String>> imports = (List<Map<String, String>>) objs.get("imports");
+    private void addImport(ImportRegistry imports, String alias) {
         String aliasFQN = this.importMapping.get(alias);
+        this.typeLookups++;
 
         if (aliasFQN == null) {
             throw new RuntimeException(String.format("Missing import mapping for %s", alias));
         }
 
-        boolean importAlreadyPresent = false;
-        for (Map<String, String> import_ : imports) {
-            if (import_.containsValue(aliasFQN)) {
-                importAlreadyPresent = true;
-                break;
-            }
-        }
-
-        if (!importAlreadyPresent) {
-            imports.add(Collections.singletonMap("import", aliasFQN));
-        }
+        imports.add(aliasFQN);
     }
 
     /**
@@ -1,57 +0,0 @@
-/*
-MIT License
-
-Copyright (c) 2019 Vincenzo Mazzeo
-
-Permission is hereby granted, free of charge, to any person obtaining a copy
-of this software and associated documentation files (the "Software"), to deal
-in the Software without restriction, including without limitation the rights
-to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
-copies of the Software, and to permit persons to whom the Software is
-furnished to do so, subject to the following conditions:
-
-The above copyright notice and this permission notice shall be included in all
-copies or substantial portions of the Software.
-
-THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
-IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
-FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
-AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
-LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
-OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
-SOFTWARE.
- */
-package it.ninjatech.swaggercodegenmavenplugin.core;
-
-import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
-import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
-
-/**
- * <p>
- * Custom implementation of the Spring
- * {@link ClassPathScanningCandidateComponentProvider} to disable the exclusion
- * of the abstract classes during the scanning.
- * </p>
- *
- * @author Vincenzo Mazzeo
- * @version 1.0
- * @since 1.0.0
- */
-public class CustomClassPathScanningCandidateComponentProvider extends ClassPathScanningCandidateComponentProvider {
-
-    /**
-     * Instantiates a new Custom Class Path Scanning Candidate Component Provider.
-     */
-    protected CustomClassPathScanningCandidateComponentProvider() {
-        super(false);
-    }
-
-    /**
-     * Overridden to accept all the classes.
-     */
-    @Override
-    protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
-        return true;
-    }
-
-}
@@ -23,18 +23,20 @@ SOFTWARE.
  */
 package it.ninjatech.swaggercodegenmavenplugin.core;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 import org.apache.maven.plugin.logging.Log;
-import org.springframework.beans.factory.config.BeanDefinition;
-import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
 import org.yaml.snakeyaml.Yaml;
 
 import it.ninjatech.swaggercodegenmavenplugin.configuration.DataTypeMapping;
@@ -45,7 +47,7 @@ import it.ninjatech.swaggercodegenmavenplugin.configuration.DataTypeMapping;
  * </p>
  * 
  * @author Vincenzo Mazzeo
- * @version 1.0
+ * @version 2.0
  * @since 1.0.0
  */
 public class DataTypeMappingHandler {
@@ -57,17 +59,19 @@ public class DataTypeMappingHandler {
      *            Log
      * @param dataTypeMapping
      *            Data type mapping
+     * @param httpCache
+     *            Cache used to read the External Resources
      * @return the Resolved Map
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    protected static Map<String, TypeData> handle(Log log, DataTypeMapping dataTypeMapping) throws IOException {
+    protected static Map<String, TypeData> handle(Log log, DataTypeMapping dataTypeMapping, HttpCache httpCache) throws IOException {
         Map<String, TypeData> result = null;
 
         if (dataTypeMapping != null) {
             result = new HashMap<>();
 
-            handle(log, dataTypeMapping, result);
+            handle(log, dataTypeMapping, httpCache, result);
         } else {
             result = Collections.emptyMap();
         }
@@ -82,15 +86,17 @@ public class DataTypeMappingHandler {
      *            Log
      * @param dataTypeMapping
      *            Data type mapping
+     * @param httpCache
+     *            Cache used to read the External Resources
      * @param typeMap
      *            the Resolved Map
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    private static void handle(Log log, DataTypeMapping dataTypeMapping, Map<String, TypeData> typeMap) throws IOException {
+    private static void handle(Log log, DataTypeMapping dataTypeMapping, HttpCache httpCache, Map<String, TypeData> typeMap) throws IOException {
         handleDirectMap(typeMap, dataTypeMapping.getDirectMap());
         handlePackages(log, typeMap, dataTypeMapping.getPackages());
-        handleExternalResources(log, typeMap, dataTypeMapping.getExternalResources());
+        handleExternalResources(log, typeMap, dataTypeMapping.getExternalResources(), httpCache);
     }
 
     /**
@@ -117,15 +123,16 @@ public class DataTypeMappingHandler {
      *            the Resolved Map
      * @param packages
      *            Packages to scan
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
      */
-    private static void handlePackages(Log log, Map<String, TypeData> typeMap, Set<String> packages) {
-        for (String package_ : packages) {
-            log.info(String.format("# Scanning package %s", package_));
-            ClassPathScanningCandidateComponentProvider scanner = new CustomClassPathScanningCandidateComponentProvider();
-            scanner.addIncludeFilter(new ClassTypeFilter(package_));
-            Set<BeanDefinition> components = scanner.findCandidateComponents(package_);
-            for (BeanDefinition component : components) {
-                TypeData typeData = getTypeData(component.getBeanClassName());
+    private static void handlePackages(Log log, Map<String, TypeData> typeMap, Set<String> packages) throws IOException {
+        List<String> packageList = new ArrayList<>(packages);
+        List<List<String>> classNames = new ClassScanner(log, ClassUtils.getDefaultClassLoader()).scan(packageList);
+        for (int i = 0; i < packageList.size(); i++) {
+            log.info(String.format("# Scanning package %s", packageList.get(i)));
+            for (String className : classNames.get(i)) {
+                TypeData typeData = getTypeData(className);
                 log.info(String.format("    %s -> %s", typeData.getName(), typeData));
                 typeMap.put(typeData.getName(), typeData);
             }
@@ -142,19 +149,22 @@ public class DataTypeMappingHandler {
      *            the Resolved Map
      * @param externalResources
      *            External Resources
+     * @param httpCache
+     *            Cache used to read the External Resources
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    private static void handleExternalResources(Log log, Map<String, TypeData> typeMap, Set<URL> externalResources) throws IOException {
+    private static void handleExternalResources(Log log, Map<String, TypeData> typeMap, Set<URL> externalResources, HttpCache httpCache)
+            throws IOException {
         for (URL externalResource : externalResources) {
             log.info(String.format("--- External Resource -> %s ---", externalResource.toString()));
             DataTypeMapping dataTypeMapping = null;
-            try (InputStream is = externalResource.openStream()) {
+            try (InputStream is = new ByteArrayInputStream(httpCache.read(externalResource))) {
                 Yaml yaml = new Yaml();
                 dataTypeMapping = yaml.loadAs(is, DataTypeMapping.class);
             }
             if (dataTypeMapping != null) {
-                handle(log, dataTypeMapping, typeMap);
+                handle(log, dataTypeMapping, httpCache, typeMap);
             }
         }
     }
@@ -166,7 +176,7 @@ public class DataTypeMappingHandler {
      *            Fully qualified name
      * @return Type data
      */
-    private static TypeData getTypeData(String fullyQualifiedName) {
+    protected static TypeData getTypeData(String fullyQualifiedName) {
         TypeData result = null;
 
         int index = fullyQualifiedName.lastIndexOf('.');
@@ -0,0 +1,446 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.swagger.util.Json;
+
+/**
+ * <p>
+ * Report of a MOJO execution. <br>
+ * For each source file it records the wall time and the bytes allocated by each {@link Phase} and the {@link Counter}'s of the generated
+ * elements; the resolution of the Data Type Mapping is recorded once for the execution. The times of a phase are summed over the threads
+ * running it, so the phases of the files written in background overlap the others. <br>
+ * The allocated bytes are measured through the {@link ThreadMXBean} of the JVM, when it supports it.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class ExecutionReport {
+
+    /** Thread MX Bean measuring the allocated bytes, <i>null</i> if not supported by the JVM. */
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    /**
+     * Phases of the generation.
+     */
+    public enum Phase {
+
+        /** Reading of the source and of the files it references. */
+        FETCH("fetch"),
+        /** Parsing of the source. */
+        PARSE("parse"),
+        /** Resolution of the Data Type Mapping. */
+        TYPE_MAPPING("typeMapping"),
+        /** Conversion and post-processing of the Models. */
+        MODELS("models"),
+        /** Conversion and post-processing of the operations. */
+        OPERATIONS("operations"),
+        /** Rendering of the templates. */
+        RENDER("render"),
+        /** Writing of the files. */
+        WRITE("write");
+
+        /** Name in the report. */
+        private final String value;
+
+        /**
+         * Instantiates a new Phase.
+         *
+         * @param value
+         *            Name in the report
+         */
+        private Phase(String value) {
+            this.value = value;
+        }
+
+    }
+
+    /**
+     * Counters of the generation.
+     */
+    public enum Counter {
+
+        /** Generated Models. */
+        MODELS("models"),
+        /** Generated operations. */
+        OPERATIONS("operations"),
+        /** Written files. */
+        FILES_WRITTEN("filesWritten"),
+        /** Files left untouched because unchanged. */
+        FILES_UNCHANGED("filesUnchanged"),
+        /** Lookups of the external types. */
+        TYPE_LOOKUPS("typeLookups");
+
+        /** Name in the report. */
+        private final String value;
+
+        /**
+         * Instantiates a new Counter.
+         *
+         * @param value
+         *            Name in the report
+         */
+        private Counter(String value) {
+            this.value = value;
+        }
+
+    }
+
+    /**
+     * Starts the measure of a phase on the current thread.
+     *
+     * @return Measure, to be recorded on the same thread
+     */
+    public static Measure start() {
+        return new Measure();
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread.
+     *
+     * @return Allocated bytes, 0 if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /**
+     * Returns the Thread MX Bean, if it measures the allocated bytes.
+     *
+     * @return Thread MX Bean, <i>null</i> if not supported by the JVM
+     */
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        com.sun.management.ThreadMXBean result = null;
+
+        try {
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+                result = (com.sun.management.ThreadMXBean) threadMXBean;
+                result.setThreadAllocatedMemoryEnabled(true);
+            }
+        } catch (LinkageError | UnsupportedOperationException | SecurityException e) {
+            result = null;
+        }
+
+        return result;
+    }
+
+    /** Execution ID. */
+    private final String executionId;
+
+    /** Goal. */
+    private final String goal;
+
+    /** Start of the execution. */
+    private final long start;
+
+    /** Phases of the execution not related to a source file. */
+    private final Section execution;
+
+    /** Sections of the source files, in the order they are started. */
+    private final Map<String, Section> sources;
+
+    /** Wall time of the execution, set by {@link #stop()}. */
+    private long wallTime;
+
+    /**
+     * Instantiates a new Execution Report, starting the measure of the execution.
+     *
+     * @param executionId
+     *            Execution ID
+     * @param goal
+     *            Goal
+     */
+    public ExecutionReport(String executionId, String goal) {
+        this.executionId = executionId;
+        this.goal = goal;
+        this.start = System.nanoTime();
+        this.execution = new Section();
+        this.sources = Collections.synchronizedMap(new LinkedHashMap<>());
+    }
+
+    /**
+     * Records a phase of the execution not related to a source file.
+     *
+     * @param phase
+     *            Phase
+     * @param measure
+     *            Measure started on the current thread
+     */
+    public void add(Phase phase, Measure measure) {
+        this.execution.add(phase, measure);
+    }
+
+    /**
+     * Returns the section of a source file, creating it if needed.
+     *
+     * @param source
+     *            SWAGGER source
+     * @return Section of the source
+     */
+    public Section getSource(URL source) {
+        return this.sources.computeIfAbsent(source.toString(), e -> new Section());
+    }
+
+    /**
+     * Stops the measure of the execution.
+     */
+    public void stop() {
+        this.wallTime = System.nanoTime() - this.start;
+    }
+
+    /**
+     * Stores the report as JSON.
+     *
+     * @param file
+     *            Report file
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void store(File file) throws IOException {
+        ObjectNode report = Json.mapper().createObjectNode();
+
+        report.put("executionId", this.executionId);
+        report.put("goal", this.goal);
+        report.put("wallTimeNanos", this.wallTime);
+        report.put("allocationMeasured", THREAD_MX_BEAN != null);
+        this.execution.putPhases(report.putObject("phases"));
+        Section total = new Section();
+        synchronized (this.sources) {
+            for (Map.Entry<String, Section> source : this.sources.entrySet()) {
+                ObjectNode sourceNode = report.withArray("sources").addObject();
+                sourceNode.put("source", source.getKey());
+                source.getValue().putPhases(sourceNode.putObject("phases"));
+                source.getValue().putCounters(sourceNode.putObject("counters"));
+                total.addAll(source.getValue());
+            }
+        }
+        ObjectNode totalNode = report.putObject("total");
+        total.putPhases(totalNode.putObject("phases"));
+        total.putCounters(totalNode.putObject("counters"));
+
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        Files.write(file.toPath(), Json.pretty().writeValueAsBytes(report));
+    }
+
+    /**
+     * Returns the summary of the report, a line for the execution and a line for each source file.
+     *
+     * @return Summary
+     */
+    public List<String> getSummary() {
+        List<String> result = new ArrayList<>();
+
+        result.add(String.format("Execution %s-%s: %d ms, %s", this.executionId, this.goal, toMillis(this.wallTime), this.execution.getPhasesSummary()));
+        synchronized (this.sources) {
+            for (Map.Entry<String, Section> source : this.sources.entrySet()) {
+                result.add(String.format("    %s: %s; %s", source.getKey(), source.getValue().getPhasesSummary(), source.getValue().getCountersSummary()));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos
+     *            Nanoseconds
+     * @return Milliseconds
+     */
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Measure of a phase, started on a thread and recorded on the same thread.
+     */
+    public static final class Measure {
+
+        /** Start time. */
+        private final long time;
+
+        /** Bytes allocated by the thread at the start. */
+        private final long allocatedBytes;
+
+        /**
+         * Instantiates a new Measure.
+         */
+        private Measure() {
+            this.time = System.nanoTime();
+            this.allocatedBytes = getAllocatedBytes();
+        }
+
+    }
+
+    /**
+     * Wall time and allocated bytes of each phase and counters of a source file or of the execution. <br>
+     * It is safe to record on it from more threads.
+     */
+    public static final class Section {
+
+        /** Wall time by phase. */
+        private final AtomicLongArray wallTimes;
+
+        /** Allocated bytes by phase. */
+        private final AtomicLongArray allocatedBytes;
+
+        /** Counters. */
+        private final AtomicLongArray counters;
+
+        /**
+         * Instantiates a new Section.
+         */
+        private Section() {
+            this.wallTimes = new AtomicLongArray(Phase.values().length);
+            this.allocatedBytes = new AtomicLongArray(Phase.values().length);
+            this.counters = new AtomicLongArray(Counter.values().length);
+        }
+
+        /**
+         * Records a phase.
+         *
+         * @param phase
+         *            Phase
+         * @param measure
+         *            Measure started on the current thread
+         */
+        public void add(Phase phase, Measure measure) {
+            long allocatedBytes = getAllocatedBytes();
+            this.wallTimes.addAndGet(phase.ordinal(), System.nanoTime() - measure.time);
+            this.allocatedBytes.addAndGet(phase.ordinal(), allocatedBytes - measure.allocatedBytes);
+        }
+
+        /**
+         * Adds to a counter.
+         *
+         * @param counter
+         *            Counter
+         * @param delta
+         *            Value to add
+         */
+        public void add(Counter counter, long delta) {
+            this.counters.addAndGet(counter.ordinal(), delta);
+        }
+
+        /**
+         * Adds the phases and the counters of another section.
+         *
+         * @param section
+         *            Section
+         */
+        private void addAll(Section section) {
+            for (Phase phase : Phase.values()) {
+                this.wallTimes.addAndGet(phase.ordinal(), section.wallTimes.get(phase.ordinal()));
+                this.allocatedBytes.addAndGet(phase.ordinal(), section.allocatedBytes.get(phase.ordinal()));
+            }
+            for (Counter counter : Counter.values()) {
+                this.counters.addAndGet(counter.ordinal(), section.counters.get(counter.ordinal()));
+            }
+        }
+
+        /**
+         * Puts the recorded phases in the JSON object.
+         *
+         * @param node
+         *            JSON object
+         */
+        private void putPhases(ObjectNode node) {
+            for (Phase phase : Phase.values()) {
+                long wallTime = this.wallTimes.get(phase.ordinal());
+                if (wallTime > 0) {
+                    ObjectNode phaseNode = node.putObject(phase.value);
+                    phaseNode.put("wallTimeNanos", wallTime);
+                    phaseNode.put("allocatedBytes", this.allocatedBytes.get(phase.ordinal()));
+                }
+            }
+        }
+
+        /**
+         * Puts the counters in the JSON object.
+         *
+         * @param node
+         *            JSON object
+         */
+        private void putCounters(ObjectNode node) {
+            for (Counter counter : Counter.values()) {
+                node.put(counter.value, this.counters.get(counter.ordinal()));
+            }
+        }
+
+        /**
+         * Returns the summary of the recorded phases.
+         *
+         * @return Summary
+         */
+        private String getPhasesSummary() {
+            List<String> result = new ArrayList<>();
+
+            for (Phase phase : Phase.values()) {
+                long wallTime = this.wallTimes.get(phase.ordinal());
+                if (wallTime > 0) {
+                    result.add(String.format("%s %d ms (%d KB)", phase.value, toMillis(wallTime), this.allocatedBytes.get(phase.ordinal()) >> 10));
+                }
+            }
+
+            return result.isEmpty() ? "no phase" : String.join(", ", result);
+        }
+
+        /**
+         * Returns the summary of the counters.
+         *
+         * @return Summary
+         */
+        private String getCountersSummary() {
+            List<String> result = new ArrayList<>();
+
+            for (Counter counter : Counter.values()) {
+                result.add(String.format("%d %s", this.counters.get(counter.ordinal()), counter.value));
+            }
+
+            return String.join(", ", result);
+        }
+
+    }
+
+}
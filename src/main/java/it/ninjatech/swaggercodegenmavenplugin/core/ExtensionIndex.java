@@ -0,0 +1,459 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.utils.PropertyModelConverter;
+
+/**
+ * <p>
+ * Index of the <i>x-nt-*</i> extensions of a SWAGGER source, built in a single pass over its paths and definitions by
+ * {@link Codegen#preprocessSwagger(Swagger)}. <br>
+ * It records the interface name of each path and every external type referenced by the extensions, so that an external type missing from the Data
+ * Type Mapping is reported, together with all the others, before any file is rendered. The templates and the super classes are required to be
+ * imported only where {@link Codegen} applies them: the super classes of the definitions and the templates of the properties of the Model
+ * classes, including the inline objects turned into Model classes by the {@link io.swagger.codegen.InlineModelResolver}. Elsewhere they are
+ * reported as ignored.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class ExtensionIndex {
+
+    /** Prefix of the extensions handled by the plug-in. */
+    private static final String EXTENSION_PREFIX = "x-nt-";
+
+    /** Value of the templates standing for the wildcard. */
+    private static final String WILDCARD = "?";
+
+    /**
+     * Builds the index of the extensions.
+     *
+     * @param swagger
+     *            SWAGGER source
+     * @param apis
+     *            Whether the paths are indexed, that is the API's are generated
+     * @param models
+     *            Whether the definitions are indexed, that is the Model classes are generated
+     * @return Extension Index
+     */
+    public static ExtensionIndex build(Swagger swagger, boolean apis, boolean models) {
+        ExtensionIndex result = new ExtensionIndex(models);
+
+        if (apis && swagger.getPaths() != null) {
+            for (Entry<String, Path> path : swagger.getPaths().entrySet()) {
+                result.indexPath(path.getKey(), path.getValue());
+            }
+        }
+        if (models && swagger.getDefinitions() != null) {
+            for (Entry<String, Model> definition : swagger.getDefinitions().entrySet()) {
+                result.indexModel(String.format("definition %s", definition.getKey()), definition.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    /** Interface name by path. */
+    private final Map<String, String> interfaceNames;
+
+    /** External types referenced by the extensions. */
+    private final List<Usage> usages;
+
+    /** Whether the Model classes are generated, including the ones of the inline objects. */
+    private final boolean models;
+
+    /** Converter of the response schemas. */
+    private final PropertyModelConverter converter;
+
+    /** Malformed extensions. */
+    private final List<String> errors;
+
+    /** Unknown extensions. */
+    private final List<String> warnings;
+
+    /**
+     * Instantiates a new Extension Index.
+     *
+     * @param models
+     *            Whether the Model classes are generated
+     */
+    private ExtensionIndex(boolean models) {
+        this.models = models;
+        this.interfaceNames = new HashMap<>();
+        this.usages = new ArrayList<>();
+        this.converter = new PropertyModelConverter();
+        this.errors = new ArrayList<>();
+        this.warnings = new ArrayList<>();
+    }
+
+    /**
+     * Returns the interface name of the path.
+     *
+     * @param path
+     *            Path
+     * @return Interface name, <i>null</i> if the path has no {@value Codegen#X_INTERFACE_NAME} extension
+     */
+    public String getInterfaceName(String path) {
+        return this.interfaceNames.get(path);
+    }
+
+    /**
+     * Returns the errors of the extensions: the malformed ones and the external types that must be imported but have no import mapping.
+     *
+     * @param config
+     *            Codegen configuration, with the type and import mappings
+     * @return Errors, empty if the extensions are valid
+     */
+    public List<String> getErrors(CodegenConfig config) {
+        List<String> result = new ArrayList<>(this.errors);
+
+        for (Usage usage : this.usages) {
+            if (usage.importRequired && !config.importMapping().containsKey(usage.type)) {
+                result.add(String.format("%s: %s %s has no import mapping", usage.location, usage.extension, usage.type));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the warnings of the extensions: the unknown <i>x-nt-*</i> extensions and the external types that are neither mapped, nor defined
+     * by the source, nor Java types.
+     *
+     * @param config
+     *            Codegen configuration, with the type and import mappings
+     * @param definitions
+     *            Definitions of the source
+     * @return Warnings
+     */
+    public List<String> getWarnings(CodegenConfig config, Map<String, Model> definitions) {
+        List<String> result = new ArrayList<>(this.warnings);
+
+        for (Usage usage : this.usages) {
+            if (!usage.importRequired
+                && !config.typeMapping().containsKey(usage.type)
+                && !config.importMapping().containsKey(usage.type)
+                && !config.languageSpecificPrimitives().contains(usage.type)
+                && (definitions == null || !definitions.containsKey(usage.type))) {
+                result.add(String.format("%s: %s %s is not mapped", usage.location, usage.extension, usage.type));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Indexes the extensions of a path and of its operations.
+     *
+     * @param pathName
+     *            Path
+     * @param path
+     *            Path definition
+     */
+    private void indexPath(String pathName, Path path) {
+        Map<String, Object> extensions = getExtensions(String.format("path %s", pathName), path.getVendorExtensions());
+        Object interfaceName = extensions.get(Codegen.X_INTERFACE_NAME);
+        if (interfaceName instanceof String) {
+            this.interfaceNames.put(pathName, (String) interfaceName);
+        } else if (interfaceName != null) {
+            this.errors.add(String.format("path %s: %s must be a string", pathName, Codegen.X_INTERFACE_NAME));
+        }
+
+        for (Entry<HttpMethod, Operation> operation : path.getOperationMap().entrySet()) {
+            String location = String.format("%s %s", operation.getKey(), pathName);
+            List<Parameter> parameters = new ArrayList<>();
+            if (path.getParameters() != null) {
+                parameters.addAll(path.getParameters());
+            }
+            if (operation.getValue().getParameters() != null) {
+                parameters.addAll(operation.getValue().getParameters());
+            }
+            for (Parameter parameter : parameters) {
+                if (parameter instanceof BodyParameter) {
+                    Model schema = ((BodyParameter) parameter).getSchema();
+                    String type = Codegen.getXType(schema);
+                    if (type != null) {
+                        // The external type of the body is imported by Codegen#postProcessOperations
+                        this.usages.add(new Usage(String.format("%s body", location), Codegen.X_TYPE, type, true));
+                    }
+                    if (schema instanceof ModelImpl) {
+                        indexProperties(String.format("%s body", location), schema, this.models);
+                    } else if (schema instanceof ArrayModel) {
+                        indexProperty(String.format("%s body[]", location), ((ArrayModel) schema).getItems(), false);
+                    }
+                }
+            }
+            if (operation.getValue().getResponses() != null) {
+                for (Entry<String, Response> response : operation.getValue().getResponses().entrySet()) {
+                    Model schema = response.getValue().getResponseSchema();
+                    if (schema != null) {
+                        indexProperty(String.format("%s response %s", location, response.getKey()), this.converter.modelToProperty(schema), false);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes the extensions of a definition: its super class, applied by {@link Codegen} from the extensions of the definition, and its
+     * properties, whose templates are applied to the properties of the Model class.
+     *
+     * @param location
+     *            Location of the definition, used in the messages
+     * @param model
+     *            Definition
+     */
+    private void indexModel(String location, Model model) {
+        Map<String, Object> extensions = getExtensions(location, model.getVendorExtensions());
+
+        List<String> superClasses = getList(location, Codegen.X_SUPER_CLASS, extensions);
+        if (superClasses != null) {
+            if (superClasses.size() != 1) {
+                this.errors.add(String.format("%s: %s extensions must have one and only one value", location, Codegen.X_SUPER_CLASS));
+            } else {
+                this.usages.add(new Usage(location, Codegen.X_SUPER_CLASS, superClasses.get(0), true));
+            }
+        }
+        indexTemplates(location, Codegen.X_SUPER_CLASS_TEMPLATES, extensions);
+
+        indexProperties(location, model, true);
+        if (model instanceof ComposedModel && ((ComposedModel) model).getAllOf() != null) {
+            // Only the properties of the inline child are Model class properties, as in DefaultCodegen#fromModel
+            Model child = ((ComposedModel) model).getChild();
+            for (Model allOf : ((ComposedModel) model).getAllOf()) {
+                if (allOf instanceof ModelImpl) {
+                    Map<String, Object> allOfExtensions = getExtensions(location, allOf.getVendorExtensions());
+                    addIgnored(location, Codegen.X_SUPER_CLASS, allOfExtensions);
+                    addIgnored(location, Codegen.X_SUPER_CLASS_TEMPLATES, allOfExtensions);
+                    indexProperties(location, allOf, allOf == child);
+                }
+            }
+        } else if (model instanceof ArrayModel) {
+            indexProperty(String.format("%s[]", location), ((ArrayModel) model).getItems(), false);
+        }
+    }
+
+    /**
+     * Indexes the extensions of the properties of a Model.
+     *
+     * @param location
+     *            Location of the Model, used in the messages
+     * @param model
+     *            Model
+     * @param templated
+     *            Whether {@link Codegen} applies the templates of the properties
+     */
+    private void indexProperties(String location, Model model, boolean templated) {
+        if (model.getProperties() != null) {
+            for (Entry<String, Property> property : model.getProperties().entrySet()) {
+                indexProperty(String.format("%s.%s", location, property.getKey()), property.getValue(), templated);
+            }
+        }
+    }
+
+    /**
+     * Indexes the extensions of a Property and of the Properties it contains. The templates are applied only to the properties of an object,
+     * never to the items of arrays and maps.
+     *
+     * @param location
+     *            Location of the Property, used in the messages
+     * @param property
+     *            Property, may be <i>null</i>
+     * @param templated
+     *            Whether {@link Codegen} applies the templates of the Property
+     */
+    private void indexProperty(String location, Property property, boolean templated) {
+        if (property != null) {
+            Map<String, Object> extensions = getExtensions(location, property.getVendorExtensions());
+            Object type = extensions.get(Codegen.X_TYPE);
+            if (type != null) {
+                this.usages.add(new Usage(location, Codegen.X_TYPE, type.toString(), false));
+            }
+            if (templated) {
+                indexTemplates(location, Codegen.X_TYPE_TEMPLATES, extensions);
+            } else {
+                addIgnored(location, Codegen.X_TYPE_TEMPLATES, extensions);
+            }
+
+            if (property instanceof ArrayProperty) {
+                indexProperty(String.format("%s[]", location), ((ArrayProperty) property).getItems(), false);
+            } else if (property instanceof MapProperty) {
+                indexProperty(String.format("%s{}", location), ((MapProperty) property).getAdditionalProperties(), false);
+            } else if (property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null) {
+                for (Entry<String, Property> child : ((ObjectProperty) property).getProperties().entrySet()) {
+                    indexProperty(String.format("%s.%s", location, child.getKey()), child.getValue(), this.models);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a warning if an extension is present where {@link Codegen} does not apply it.
+     *
+     * @param location
+     *            Location of the extension, used in the messages
+     * @param extension
+     *            Extension
+     * @param extensions
+     *            Extensions
+     */
+    private void addIgnored(String location, String extension, Map<String, Object> extensions) {
+        if (extensions.containsKey(extension)) {
+            this.warnings.add(String.format("%s: %s is ignored here", location, extension));
+        }
+    }
+
+    /**
+     * Indexes the external types of a templates extension, all imported by {@link Codegen} but the wildcard.
+     *
+     * @param location
+     *            Location of the extension, used in the messages
+     * @param extension
+     *            Templates extension
+     * @param extensions
+     *            Extensions
+     */
+    private void indexTemplates(String location, String extension, Map<String, Object> extensions) {
+        List<String> templates = getList(location, extension, extensions);
+        if (templates != null) {
+            for (String template : templates) {
+                if (!WILDCARD.equals(template)) {
+                    this.usages.add(new Usage(location, extension, template, true));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the <i>x-nt-*</i> extensions, recording the unknown ones.
+     *
+     * @param location
+     *            Location of the extensions, used in the messages
+     * @param vendorExtensions
+     *            Vendor extensions, may be <i>null</i>
+     * @return Extensions
+     */
+    private Map<String, Object> getExtensions(String location, Map<String, Object> vendorExtensions) {
+        Map<String, Object> result = vendorExtensions != null ? vendorExtensions : Collections.emptyMap();
+
+        for (String extension : result.keySet()) {
+            if (extension.startsWith(EXTENSION_PREFIX) && !Codegen.EXTENSIONS.contains(extension)) {
+                this.warnings.add(String.format("%s: unknown extension %s", location, extension));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the value of an extension that must be a list of strings, recording an error if it is not.
+     *
+     * @param location
+     *            Location of the extension, used in the messages
+     * @param extension
+     *            Extension
+     * @param extensions
+     *            Extensions
+     * @return Value, <i>null</i> if the extension is missing or malformed
+     */
+    private List<String> getList(String location, String extension, Map<String, Object> extensions) {
+        List<String> result = null;
+
+        Object value = extensions.get(extension);
+        if (value instanceof List && ((List<?>) value).stream().allMatch(e -> e instanceof String)) {
+            result = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                result.add((String) element);
+            }
+        } else if (value != null) {
+            this.errors.add(String.format("%s: %s must be a list of type aliases", location, extension));
+        }
+
+        return result;
+    }
+
+    /**
+     * External type referenced by an extension.
+     */
+    private static final class Usage {
+
+        /** Location of the extension. */
+        private final String location;
+
+        /** Extension. */
+        private final String extension;
+
+        /** Alias of the external type. */
+        private final String type;
+
+        /** Whether {@link Codegen} imports the type, so that it must have an import mapping. */
+        private final boolean importRequired;
+
+        /**
+         * Instantiates a new Usage.
+         *
+         * @param location
+         *            Location of the extension
+         * @param extension
+         *            Extension
+         * @param type
+         *            Alias of the external type
+         * @param importRequired
+         *            Whether the type must have an import mapping
+         */
+        private Usage(String location, String extension, String type, boolean importRequired) {
+            this.location = location;
+            this.extension = extension;
+            this.type = type;
+            this.importRequired = importRequired;
+        }
+
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>
+ * Stamps of a set of local files, made of their last modification time and size. <br>
+ * They tell if any of the files has changed without reading them, so that the state derived from the files can be kept for the whole life of the
+ * JVM, as under the Maven daemon, and dropped as soon as one of them changes. A folder changes when a file is added to or removed from it. <br>
+ * The last modification time has a granularity of a second on some file systems and on JDK 8 on Linux, so a file changed twice within the same
+ * second may keep its stamp: the stamp of a file modified within {@link #MODIFICATION_TIME_GRANULARITY} also carries the checksum of its content,
+ * or of the names of its files for a folder, and the checksum is compared as well.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class FileStamps {
+
+    /** Granularity of the last modification time assumed for any file system, in milliseconds. */
+    private static final long MODIFICATION_TIME_GRANULARITY = 2000;
+
+    /** Separator of the checksum in a stamp. */
+    private static final char CHECKSUM_SEPARATOR = '#';
+
+    /**
+     * Returns the stamps of the files linked by the passed URL's.
+     *
+     * @param urls
+     *            URL's
+     * @return Stamps, <i>null</i> if one of the URL's is not a local file, so that its changes can't be detected
+     */
+    protected static FileStamps of(Collection<URL> urls) {
+        FileStamps result = null;
+
+        Map<String, String> stamps = new TreeMap<>();
+        for (URL url : urls) {
+            File file = toFile(url);
+            if (file == null) {
+                stamps = null;
+                break;
+            }
+            stamps.put(file.getAbsolutePath(), stamp(file));
+        }
+        if (stamps != null) {
+            result = new FileStamps(stamps);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the local file linked by the passed URL.
+     *
+     * @param url
+     *            URL
+     * @return File, <i>null</i> if the URL doesn't link a local file
+     */
+    private static File toFile(URL url) {
+        File result = null;
+
+        if ("file".equals(url.getProtocol())) {
+            try {
+                result = Paths.get(url.toURI()).toFile();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                result = null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the stamp of a file, with the checksum of its content if it has been modified within the granularity of the last modification time.
+     *
+     * @param file
+     *            File
+     * @return Stamp, empty if the file doesn't exist
+     */
+    protected static String stamp(File file) {
+        String result = "";
+
+        if (file.exists()) {
+            long lastModified = file.lastModified();
+            result = String.format("%d:%d", lastModified, file.isFile() ? file.length() : 0);
+            if (System.currentTimeMillis() - lastModified < MODIFICATION_TIME_GRANULARITY) {
+                String checksum = checksum(file);
+                if (checksum != null) {
+                    result += CHECKSUM_SEPARATOR + checksum;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if a file has not changed since its stamp was taken, comparing also its checksum if the stamp carries it.
+     *
+     * @param file
+     *            File
+     * @param stamp
+     *            Stamp
+     * @return true, if the file has the same last modification time, size and, if present, checksum
+     */
+    private static boolean isUnchanged(File file, String stamp) {
+        boolean result = false;
+
+        int separator = stamp.indexOf(CHECKSUM_SEPARATOR);
+        if (separator < 0) {
+            result = stamp.equals(stamp(file));
+        } else {
+            String current = stamp(file);
+            int currentSeparator = current.indexOf(CHECKSUM_SEPARATOR);
+            result = stamp.substring(0, separator).equals(currentSeparator < 0 ? current : current.substring(0, currentSeparator))
+                     && stamp.substring(separator + 1).equals(currentSeparator < 0 ? checksum(file) : current.substring(currentSeparator + 1));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the checksum of the content of a file, or of the names of the files of a folder.
+     *
+     * @param file
+     *            File
+     * @return Checksum, <i>null</i> if the file can't be read
+     */
+    private static String checksum(File file) {
+        String result = null;
+
+        try {
+            if (file.isDirectory()) {
+                String[] names = file.list();
+                if (names != null) {
+                    Arrays.sort(names);
+                    result = Checksum.of(String.join("\n", names));
+                }
+            } else {
+                result = Checksum.of(Files.readAllBytes(file.toPath()));
+            }
+        } catch (IOException e) {
+            result = null;
+        }
+
+        return result;
+    }
+
+    /** Stamps by file. */
+    private final Map<String, String> stamps;
+
+    /**
+     * Instantiates new File Stamps.
+     *
+     * @param stamps
+     *            Stamps by file
+     */
+    private FileStamps(Map<String, String> stamps) {
+        this.stamps = stamps;
+    }
+
+    /**
+     * Checks if none of the files has changed since the stamps were taken.
+     *
+     * @return true, if all the files have the same last modification time, size and, for the recently modified ones, checksum
+     */
+    protected boolean isUnchanged() {
+        return this.stamps.entrySet().stream().allMatch(e -> isUnchanged(new File(e.getKey()), e.getValue()));
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+/**
+ * <p>
+ * JDK Flight Recorder events of the generation. <br>
+ * Each {@link Type} of span is recorded as an event of its own, carrying the SWAGGER source, the name of the element and the duration, so that the
+ * cost of each source, Model and operation is visible in JDK Mission Control. <br>
+ * The event classes are in <i>FlightRecorderEvents</i>, loaded by name only when the Flight Recorder is available: it is compiled only on JDK 11 or
+ * later, on the older JDK's and JVM's the spans do nothing.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class FlightEvents {
+
+    /** Class of the {@link Recorder} of the events. */
+    private static final String RECORDER_CLASS = "it.ninjatech.swaggercodegenmavenplugin.core.FlightRecorderEvents";
+
+    /** Span doing nothing, used when the Flight Recorder is not available. */
+    protected static final Span NO_SPAN = () -> {
+    };
+
+    /** Recorder of the events, <i>null</i> if the Flight Recorder is not available. */
+    private static final Recorder RECORDER = loadRecorder();
+
+    /**
+     * Types of span.
+     */
+    public enum Type {
+
+        /** {@link GeneratorFactory#make(java.net.URL, SourceStore)}. */
+        MAKE,
+        /** {@link Generator#generate()}. */
+        GENERATE,
+        /** Conversion of a Model. */
+        MODEL,
+        /** Post-processing of the Models of a bundle. */
+        POST_PROCESS_MODELS,
+        /** Conversion of an operation. */
+        OPERATION,
+        /** Post-processing of the operations of an API. */
+        POST_PROCESS_OPERATIONS,
+        /** Scanning of a package of the Data Type Mapping. */
+        PACKAGE_SCAN;
+
+    }
+
+    /**
+     * Span of the generation, ended by {@link #end()}.
+     */
+    @FunctionalInterface
+    public interface Span {
+
+        /**
+         * Ends the span, committing its event.
+         */
+        void end();
+
+    }
+
+    /**
+     * Recorder of the spans as Flight Recorder events.
+     */
+    protected interface Recorder {
+
+        /**
+         * Checks if the Flight Recorder is available.
+         *
+         * @return true, if the Flight Recorder is available
+         */
+        boolean isAvailable();
+
+        /**
+         * Begins a span.
+         *
+         * @param type
+         *            Type of span
+         * @param source
+         *            SWAGGER source
+         * @param name
+         *            Name of the element
+         * @return Span
+         */
+        Span begin(Type type, String source, String name);
+
+    }
+
+    /**
+     * Begins a span.
+     *
+     * @param type
+     *            Type of span
+     * @param source
+     *            SWAGGER source, <i>null</i> if not related to a source
+     * @param name
+     *            Name of the element, <i>null</i> if not related to an element
+     * @return Span
+     */
+    public static Span begin(Type type, String source, String name) {
+        return RECORDER != null ? RECORDER.begin(type, source, name) : NO_SPAN;
+    }
+
+    /**
+     * Loads the recorder of the events.
+     *
+     * @return Recorder, <i>null</i> if it has not been compiled or the Flight Recorder is not available
+     */
+    private static Recorder loadRecorder() {
+        Recorder result = null;
+
+        try {
+            result = (Recorder) Class.forName(RECORDER_CLASS).getDeclaredConstructor().newInstance();
+            if (!result.isAvailable()) {
+                result = null;
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            result = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private FlightEvents() {
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Recorder;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Span;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Type;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <p>
+ * JDK Flight Recorder events of the {@link FlightEvents}, one class of event for each {@link Type} of span. <br>
+ * It is the only class depending on the <i>jdk.jfr</i> module: it is compiled only on JDK 11 or later and loaded by {@link FlightEvents} only
+ * when present.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class FlightRecorderEvents implements Recorder {
+
+    /** Category of the events. */
+    private static final String CATEGORY = "Swagger Codegen Maven Plugin";
+
+    /**
+     * Instantiates a new Flight Recorder Events, by {@link FlightEvents}.
+     */
+    protected FlightRecorderEvents() {
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    @Override
+    public Span begin(Type type, String source, String name) {
+        return EventSpan.begin(type, source, name);
+    }
+
+    /**
+     * Span recording a {@link GenerationEvent}.
+     */
+    private static final class EventSpan implements Span {
+
+        /**
+         * Begins a span.
+         *
+         * @param type
+         *            Type of span
+         * @param source
+         *            SWAGGER source
+         * @param name
+         *            Name of the element
+         * @return Span
+         */
+        private static Span begin(Type type, String source, String name) {
+            Span result = null;
+
+            GenerationEvent event = null;
+            switch (type) {
+            case MAKE:
+                event = new MakeEvent();
+                break;
+            case GENERATE:
+                event = new GenerateEvent();
+                break;
+            case MODEL:
+                event = new ModelEvent();
+                break;
+            case POST_PROCESS_MODELS:
+                event = new PostProcessModelsEvent();
+                break;
+            case OPERATION:
+                event = new OperationEvent();
+                break;
+            case POST_PROCESS_OPERATIONS:
+                event = new PostProcessOperationsEvent();
+                break;
+            case PACKAGE_SCAN:
+                event = new PackageScanEvent();
+                break;
+            default:
+                throw new IllegalArgumentException(type.name());
+            }
+            if (event.isEnabled()) {
+                event.source = source;
+                event.name = name;
+                event.begin();
+                result = new EventSpan(event);
+            } else {
+                result = FlightEvents.NO_SPAN;
+            }
+
+            return result;
+        }
+
+        /** Event. */
+        private final GenerationEvent event;
+
+        /**
+         * Instantiates a new Event Span.
+         *
+         * @param event
+         *            Event
+         */
+        private EventSpan(GenerationEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void end() {
+            this.event.commit();
+        }
+
+    }
+
+    /**
+     * Event of the generation.
+     */
+    @Category(CATEGORY)
+    private abstract static class GenerationEvent extends Event {
+
+        /** SWAGGER source. */
+        @Label("Source")
+        protected String source;
+
+        /** Name of the element. */
+        @Label("Name")
+        protected String name;
+
+    }
+
+    /**
+     * Event of {@link GeneratorFactory#make(java.net.URL, SourceStore)}.
+     */
+    @Name("it.ninjatech.swaggercodegenmavenplugin.Make")
+    @Label("Make Generator")
+    @Description("Read, parse and configuration of a SWAGGER source")
+    private static final class MakeEvent extends GenerationEvent {
+    }
+
+    /**
+     * Event of {@link Generator#generate()}.
+     */
+    @Name("it.ninjatech.swaggercodegenmavenplugin.Generate")
+    @Label("Generate")
+    @Description("Generation of the API's and the Models of a SWAGGER source")
+    private static final class GenerateEvent extends GenerationEvent {
+    }
+
+    /**
+     * Event of the conversion of a Model.
+     */
+    @Name("it.ninjatech.swaggercodegenmavenplugin.Model")
+    @Label("Model")
+    @Description("Conversion of a Model")
+    private static final class ModelEvent extends GenerationEvent {
+    }
+
+    /**
+     * Event of the post-processing of the Models of a bundle.
+     */
+    @Name("it.ninjatech.swaggercodegenmavenplugin.PostProcessModels")
+    @Label("Post Process Models")
+    @Description("Post-processing of the Models of a bundle")
+    private static final class PostProcessModelsEvent extends GenerationEvent {
+    }
+
+    /**
+     * Event of the conversion of an operation.
+     */
+    @Name("it.ninjatech.swaggercodegenmavenplugin.Operation")
+    @Label("Operation")
+    @Description("Conversion of an operation")
+    private static final class OperationEvent extends GenerationEvent {
+    }
+
+    /**
+     * Event of the post-processing of the operations of an API.
+     */
+    @Name("it.ninjatech.swaggercodegenmavenplugin.PostProcessOperations")
+    @Label("Post Process Operations")
+    @Description("Post-processing of the operations of an API")
+    private static final class PostProcessOperationsEvent extends GenerationEvent {
+    }
+
+    /**
+     * Event of the scanning of a package of the Data Type Mapping.
+     */
+    @Name("it.ninjatech.swaggercodegenmavenplugin.PackageScan")
+    @Label("Package Scan")
+    @Description("Scanning of a package of the Data Type Mapping")
+    private static final class PackageScanEvent extends GenerationEvent {
+    }
+
+}
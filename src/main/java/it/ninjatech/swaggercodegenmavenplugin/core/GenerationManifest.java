@@ -0,0 +1,177 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Manifest of the source files generated by a MOJO execution. <br>
+ * For each source file it records a fingerprint, made of the checksum of the content of the source and of the fingerprint of the
+ * {@link GeneratorFactory}, and the files generated from it. A source file is up to date when its fingerprint has not changed and all the files
+ * generated from it still exist.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class GenerationManifest {
+
+    /** Suffix of the fingerprint keys. */
+    private static final String FINGERPRINT_SUFFIX = ".fingerprint";
+
+    /** Suffix of the generated files keys. */
+    private static final String FILES_SUFFIX = ".files";
+
+    /**
+     * Loads the manifest from the passed file. <br>
+     * If the file does not exist an empty manifest is returned.
+     *
+     * @param file
+     *            Manifest file
+     * @return Manifest
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static GenerationManifest load(File file) throws IOException {
+        GenerationManifest result = new GenerationManifest(file);
+
+        if (file.isFile()) {
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                result.entries.load(is);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the fingerprint of a source file.
+     *
+     * @param sourceKey
+     *            Key of the source, covering its content and the content of the files it references
+     * @param generatorFingerprint
+     *            Fingerprint of the {@link GeneratorFactory}
+     * @return Fingerprint
+     */
+    public static String fingerprint(String sourceKey, String generatorFingerprint) {
+        return Checksum.of(String.format("%s|%s", sourceKey, generatorFingerprint));
+    }
+
+    /** Manifest file. */
+    private final File file;
+
+    /** Entries. */
+    private final Properties entries;
+
+    /**
+     * Instantiates a new Generation Manifest.
+     *
+     * @param file
+     *            Manifest file
+     */
+    private GenerationManifest(File file) {
+        this.file = file;
+        this.entries = new Properties();
+    }
+
+    /**
+     * Checks if the source file is up to date.
+     *
+     * @param source
+     *            SWAGGER source
+     * @param fingerprint
+     *            Current fingerprint of the source
+     * @return true, if the fingerprint has not changed and all the generated files exist
+     */
+    public synchronized boolean isUpToDate(URL source, String fingerprint) {
+        boolean result = false;
+
+        if (fingerprint.equals(this.entries.getProperty(source.toString() + FINGERPRINT_SUFFIX))) {
+            result = getFiles(source).stream().allMatch(e -> new File(e).isFile());
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the files generated from the source file during the last build.
+     *
+     * @param source
+     *            SWAGGER source
+     * @return Generated files
+     */
+    public synchronized Set<String> getFiles(URL source) {
+        Set<String> result = new HashSet<>();
+
+        String files = this.entries.getProperty(source.toString() + FILES_SUFFIX, "");
+        if (!files.isEmpty()) {
+            result.addAll(Arrays.asList(files.split(File.pathSeparator)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Records the fingerprint of the source file and the files generated from it.
+     *
+     * @param source
+     *            SWAGGER source
+     * @param fingerprint
+     *            Fingerprint of the source
+     * @param files
+     *            Generated files
+     */
+    public synchronized void update(URL source, String fingerprint, List<File> files) {
+        this.entries.setProperty(source.toString() + FINGERPRINT_SUFFIX, fingerprint);
+        this.entries.setProperty(source.toString() + FILES_SUFFIX,
+                                 files.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator)));
+    }
+
+    /**
+     * Stores the manifest.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public synchronized void store() throws IOException {
+        Files.createDirectories(this.file.getAbsoluteFile().getParentFile().toPath());
+        try (OutputStream os = Files.newOutputStream(this.file.toPath())) {
+            this.entries.store(os, "Swagger Codegen Maven Plugin - Generation Manifest");
+        }
+    }
+
+}
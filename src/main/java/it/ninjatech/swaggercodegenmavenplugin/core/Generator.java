@@ -23,10 +23,51 @@ SOFTWARE.
  */
 package it.ninjatech.swaggercodegenmavenplugin.core;
 
-import org.springframework.core.io.ClassPathResource;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import com.samskivert.mustache.Template;
 
 import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenModel;
+import io.swagger.codegen.CodegenOperation;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.RefModel;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport.Counter;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport.Measure;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport.Phase;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport.Section;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Span;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Type;
+import it.ninjatech.swaggercodegenmavenplugin.core.OutputFileRegistry.FileWriter;
 
 /**
  * <p>
@@ -34,16 +75,913 @@ import io.swagger.codegen.DefaultGenerator;
  * </p>
  *
  * @author Vincenzo Mazzeo
- * @version 1.0
+ * @version 2.0
  * @since 1.1.0
  */
 public class Generator extends DefaultGenerator {
 
+    /** API template. */
+    protected static final String API_TEMPLATE = "swagger-codegen-maven-plugin-api.mustache";
+
+    /** Pattern of the generation date of the Generated annotation, that changes at every run. */
+    private static final Pattern GENERATED_DATE_PATTERN = Pattern.compile("(@javax\\.annotation\\.Generated\\(value = \"[^\"]*\", date = \")[^\"]*(\"\\))");
+
+    /** Write only the files whose content has changed. */
+    private boolean writeChangedFilesOnly;
+
+    /** Number of written files. */
+    private final AtomicInteger writtenFiles = new AtomicInteger();
+
+    /** Number of files left untouched because unchanged. */
+    private final AtomicInteger unchangedFiles = new AtomicInteger();
+
+    /** Registry of the files written by the concurrent Generators. */
+    private OutputFileRegistry outputFileRegistry;
+
+    /** Order of the source in the configuration. */
+    private int order;
+
+    /** Pipeline writing the files in background, <i>null</i> if the files are written while rendering. */
+    private WriteBehindPipeline writeBehindPipeline;
+
+    /** Writes queued on the pipeline. */
+    private final List<CompletableFuture<Void>> pendingWrites = new ArrayList<>();
+
+    /** Section of the {@link ExecutionReport} recording the phases of the source, <i>null</i> if not reported. */
+    private Section report;
+
+    /** Process and render the Models and the API's a group at a time. */
+    private boolean lowMemory;
+
+    /** Shard generated by this Generator. */
+    private int shard;
+
+    /** Number of shards the source is split into. */
+    private int shards = 1;
+
+    /** Shard of each API, <i>null</i> if not computed yet or if the API's are not split. */
+    private Map<String, Integer> apiShards;
+
+    /** Shard of each Model family, by its first Model, <i>null</i> if not computed yet. */
+    private Map<String, Integer> modelShards;
+
+    /** Load of each shard after the split of the API's and of the Model families, <i>null</i> if not computed yet. */
+    private long[] shardLoads;
+
+    /** Keep only the API's of this shard among the converted operations. */
+    private boolean shardApis;
+
+    /**
+     * Sets the registry shared with the Generators running concurrently and the order of the source elaborated by this Generator.
+     *
+     * @param outputFileRegistry
+     *            Output File Registry
+     * @param order
+     *            Order of the source in the configuration
+     */
+    public void setOutputFileRegistry(OutputFileRegistry outputFileRegistry, int order) {
+        this.outputFileRegistry = outputFileRegistry;
+        this.order = order;
+    }
+
+    /**
+     * Sets the pipeline writing the files in background, shared with the other Generators of the execution.
+     *
+     * @param writeBehindPipeline
+     *            Write Behind Pipeline
+     */
+    public void setWriteBehindPipeline(WriteBehindPipeline writeBehindPipeline) {
+        this.writeBehindPipeline = writeBehindPipeline;
+    }
+
+    /**
+     * Sets the section of the {@link ExecutionReport} recording the phases and the counters of the source.
+     *
+     * @param report
+     *            Section of the source
+     */
+    public void setReport(Section report) {
+        this.report = report;
+    }
+
+    /**
+     * Sets if the Models and the API's must be processed and rendered a group at a time, releasing them once rendered. <br>
+     * The Models are grouped by inheritance, so that each Model is rendered with its parents and children, and the API's by interface; the
+     * generated files are the same of the default mode.
+     *
+     * @param lowMemory
+     *            If to generate in low memory mode
+     */
+    public void setLowMemory(boolean lowMemory) {
+        this.lowMemory = lowMemory;
+    }
+
+    /**
+     * Sets the shard of the source generated by this Generator. <br>
+     * The API's, grouped by interface, and the Models, grouped by inheritance, are split among the shards balancing the number of operations and
+     * Models of each one, so that the Generators of all the shards, each with its own source, generate together the files of the whole source, each
+     * file once.
+     *
+     * @param shard
+     *            Shard generated by this Generator, from 0
+     * @param shards
+     *            Number of shards the source is split into
+     */
+    public void setShard(int shard, int shards) {
+        this.shard = shard;
+        this.shards = shards;
+    }
+
+    /**
+     * Sets if only the files whose content has changed must be written.
+     *
+     * @param writeChangedFilesOnly
+     *            If only the changed files must be written
+     */
+    public void setWriteChangedFilesOnly(boolean writeChangedFilesOnly) {
+        this.writeChangedFilesOnly = writeChangedFilesOnly;
+    }
+
+    /**
+     * Returns the number of written files.
+     *
+     * @return Number of written files
+     */
+    public int getWrittenFiles() {
+        return this.writtenFiles.get();
+    }
+
+    /**
+     * Returns the number of files left untouched because unchanged.
+     *
+     * @return Number of unchanged files
+     */
+    public int getUnchangedFiles() {
+        return this.unchangedFiles.get();
+    }
+
+    /**
+     * Returns the number of lookups of the external types made by the {@link Codegen}.
+     *
+     * @return Number of lookups
+     */
+    public int getTypeLookups() {
+        return this.config instanceof Codegen ? ((Codegen) this.config).getTypeLookups() : 0;
+    }
+
+    /**
+     * Waits for the files of this Generator queued on the {@link WriteBehindPipeline}. <br>
+     * All the writes are awaited, then the first error, if any, is raised.
+     *
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void flush() throws IOException {
+        Throwable error = null;
+
+        for (CompletableFuture<Void> pendingWrite : this.pendingWrites) {
+            try {
+                pendingWrite.join();
+            } catch (CompletionException e) {
+                if (error == null) {
+                    error = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+                }
+            }
+        }
+        this.pendingWrites.clear();
+
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error != null) {
+            throw new IOException(error);
+        }
+    }
+
+    /**
+     * Overridden to record the generation as a {@link FlightEvents} span.
+     * 
+     * @see io.swagger.codegen.DefaultGenerator#generate()
+     */
+    @Override
+    public List<File> generate() {
+        List<File> result = null;
+
+        Span span = FlightEvents.begin(Type.GENERATE, this.config != null ? this.config.getInputSpec() : null, null);
+        try {
+            result = super.generate();
+        } finally {
+            span.end();
+        }
+
+        return result;
+    }
+
+    /**
+     * Overridden, in low memory mode or when the source is split into shards, to process and render the Models an inheritance family at a time. <br>
+     * The rendered Models are not collected, the API's and the supporting files of this Generator don't use them.
+     * 
+     * @see io.swagger.codegen.DefaultGenerator#generateModels(List, List)
+     */
+    @Override
+    protected void generateModels(List<File> files, List<Object> allModels) {
+        if (this.lowMemory || this.shards > 1) {
+            if (this.isGenerateModels && this.swagger.getDefinitions() != null) {
+                generateModelFamilies(files, this.swagger.getDefinitions());
+            }
+        } else {
+            super.generateModels(files, allModels);
+        }
+    }
+
+    /**
+     * Overridden, in low memory mode or when the source is split into shards, to process and render the API's an interface at a time. <br>
+     * The paths of the source are replaced, for each interface, by the paths whose operations are grouped in it. When the interface of a path depends
+     * on its operations the API's are generated as in the default mode, with each shard converting all the operations and rendering only the
+     * interfaces assigned to it. <br>
+     * Swagger CodeGen stores the examples of the responses in their Models when first made and reuses them in the following operations, so the
+     * operations are converted in the order of the source as in the default mode: a shard converts, without rendering them, the operations of the
+     * interfaces of the other shards preceding its last one and, when the interfaces are not in the order of the source, all the operations are
+     * converted one path at a time before rendering them.
+     * 
+     * @see io.swagger.codegen.DefaultGenerator#generateApis(List, List, List)
+     */
+    @Override
+    protected void generateApis(List<File> files, List<Object> allOperations, List<Object> allModels) {
+        Map<String, Map<String, io.swagger.models.Path>> apiGroups = (this.lowMemory || this.shards > 1) && this.isGenerateApis ? getApiGroups() : null;
+
+        if (apiGroups != null) {
+            Map<String, Integer> shards = this.shards > 1 ? getApiShards() : null;
+            Map<String, io.swagger.models.Path> paths = this.swagger.getPaths();
+            boolean sourceOrder = isSourceOrder(apiGroups, paths);
+            if (!sourceOrder) {
+                for (Entry<String, io.swagger.models.Path> path : paths.entrySet()) {
+                    processPaths(Collections.singletonMap(path.getKey(), path.getValue()));
+                }
+            }
+            List<String> apiNames = new ArrayList<>(apiGroups.keySet());
+            int lastApi = apiNames.size() - 1;
+            while (shards != null && lastApi >= 0 && shards.get(apiNames.get(lastApi)) != this.shard) {
+                lastApi--;
+            }
+            try {
+                for (int i = 0; i <= lastApi; i++) {
+                    Map<String, io.swagger.models.Path> apiPaths = apiGroups.get(apiNames.get(i));
+                    if (shards == null || shards.get(apiNames.get(i)) == this.shard) {
+                        this.swagger.setPaths(apiPaths);
+                        super.generateApis(files, new ArrayList<>(), allModels);
+                    } else if (sourceOrder) {
+                        processPaths(apiPaths);
+                    }
+                }
+            } finally {
+                this.swagger.setPaths(paths);
+            }
+        } else if (this.shards > 1) {
+            this.shardApis = true;
+            try {
+                super.generateApis(files, allOperations, allModels);
+            } finally {
+                this.shardApis = false;
+            }
+        } else {
+            super.generateApis(files, allOperations, allModels);
+        }
+    }
+
+    /**
+     * Overridden to write only the files whose content has changed, to let the source coming later in the configuration win when the Generators
+     * run concurrently and to hand the file to the {@link WriteBehindPipeline}, if any.
+     * 
+     * @see io.swagger.codegen.AbstractGenerator#writeToFile(String, String)
+     */
+    @Override
+    public File writeToFile(String filename, String contents) throws IOException {
+        FileWriter writer = null;
+        if (this.outputFileRegistry == null) {
+            writer = () -> writeIfChanged(filename, contents);
+        } else {
+            writer = () -> this.outputFileRegistry.write(filename, this.order, () -> writeIfChanged(filename, contents));
+        }
+
+        if (this.writeBehindPipeline == null) {
+            writer.write();
+        } else {
+            this.pendingWrites.add(this.writeBehindPipeline.submit(writer));
+        }
+
+        return new File(filename);
+    }
+
+    /**
+     * Writes the file unless only the changed files must be written and the existing file has the same content. <br>
+     * Contents differing just for the date of the Generated annotation are considered the same.
+     *
+     * @param filename
+     *            File name
+     * @param contents
+     *            Contents
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void writeIfChanged(String filename, String contents) throws IOException {
+        Measure measure = this.report != null ? ExecutionReport.start() : null;
+        try {
+            writeIfChanged(Paths.get(filename), contents);
+        } finally {
+            if (measure != null) {
+                this.report.add(Phase.WRITE, measure);
+            }
+        }
+    }
+
+    /**
+     * Writes the file unless unchanged, as {@link #writeIfChanged(String, String)}.
+     *
+     * @param path
+     *            File path
+     * @param contents
+     *            Contents
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private void writeIfChanged(Path path, String contents) throws IOException {
+        byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+
+        if (this.writeChangedFilesOnly && Files.isRegularFile(path)) {
+            byte[] existingBytes = Files.readAllBytes(path);
+            if ((bytes.length == existingBytes.length && Arrays.equals(bytes, existingBytes))
+                || withoutGeneratedDate(contents).equals(withoutGeneratedDate(new String(existingBytes, StandardCharsets.UTF_8)))) {
+                this.unchangedFiles.incrementAndGet();
+                return;
+            }
+        }
+
+        writeFile(path, bytes);
+        this.writtenFiles.incrementAndGet();
+    }
+
+    /**
+     * Writes the file, creating its parent folders.
+     *
+     * @param path
+     *            File path
+     * @param bytes
+     *            Content
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void writeFile(Path path, byte[] bytes) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Returns the contents without the date of the Generated annotation.
+     *
+     * @param contents
+     *            Contents
+     * @return Contents without the generation date
+     */
+    private static String withoutGeneratedDate(String contents) {
+        return GENERATED_DATE_PATTERN.matcher(contents).replaceAll("$1$2");
+    }
+
+    /**
+     * Overridden to take the compiled template from the {@link TemplateStore}, instead of compiling it for each file.
+     */
+    @Override
+    protected File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) throws IOException {
+        File result = null;
+
+        String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
+        if (this.ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
+            String templateFile = getFullTemplateFile(this.config, templateName);
+            Template template = TemplateStore.get(this.config, templateFile, () -> readTemplate(templateFile));
+            Measure measure = this.report != null ? ExecutionReport.start() : null;
+            String contents = template.execute(templateData);
+            if (measure != null) {
+                this.report.add(Phase.RENDER, measure);
+            }
+            writeToFile(adjustedOutputFilename, contents);
+            result = new File(adjustedOutputFilename);
+        } else {
+            LOGGER.info(String.format("Skipped generation of %s due to rule in .swagger-codegen-ignore", adjustedOutputFilename));
+        }
+
+        return result;
+    }
+
+    /**
+     * Overridden to record the conversion and the post-processing of the Models in the {@link ExecutionReport}.
+     */
+    @Override
+    protected Map<String, Object> processModels(CodegenConfig config, Map<String, Model> definitions, Map<String, Model> allDefinitions) {
+        Map<String, Object> result = null;
+
+        Measure measure = this.report != null ? ExecutionReport.start() : null;
+        result = super.processModels(config, definitions, allDefinitions);
+        if (measure != null) {
+            this.report.add(Phase.MODELS, measure);
+            this.report.add(Counter.MODELS, definitions.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Overridden to record the conversion of the operations in the {@link ExecutionReport} and, when the interface of a path depends on its
+     * operations and the source is split into shards, to keep only the API's of this shard.
+     */
+    @Override
+    public Map<String, List<CodegenOperation>> processPaths(Map<String, io.swagger.models.Path> paths) {
+        Map<String, List<CodegenOperation>> result = null;
+
+        Measure measure = this.report != null ? ExecutionReport.start() : null;
+        result = super.processPaths(paths);
+        if (this.shardApis) {
+            result = getShardApis(result);
+        }
+        if (measure != null) {
+            this.report.add(Phase.OPERATIONS, measure);
+        }
+
+        return result;
+    }
+
+    /**
+     * Overridden to record the post-processing of the operations in the {@link ExecutionReport}.
+     */
+    @Override
+    protected Map<String, Object> processOperations(CodegenConfig config, String tag, List<CodegenOperation> ops, List<Object> allModels) {
+        Map<String, Object> result = null;
+
+        Measure measure = this.report != null ? ExecutionReport.start() : null;
+        result = super.processOperations(config, tag, ops, allModels);
+        if (measure != null) {
+            this.report.add(Phase.OPERATIONS, measure);
+            this.report.add(Counter.OPERATIONS, ops.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Processes and renders the Models an inheritance family at a time, as {@link DefaultGenerator#generateModels(List, List)} does for all of
+     * them.
+     *
+     * @param files
+     *            Generated files
+     * @param definitions
+     *            Models of the source
+     */
+    private void generateModelFamilies(List<File> files, Map<String, Model> definitions) {
+        Set<String> modelKeys = getModelKeys(definitions);
+        Comparator<String> modelOrder = getModelOrder(definitions);
+        Map<String, Integer> shards = this.shards > 1 ? getModelShards() : null;
+
+        Map<String, Integer> childrenOrder = null;
+        for (List<String> family : getModelFamilies(definitions, modelKeys)) {
+            if (shards != null && shards.get(family.get(0)) != this.shard) {
+                continue;
+            }
+            Map<String, Object> processedModels = new TreeMap<>(modelOrder);
+            for (String name : family) {
+                try {
+                    if (!this.config.getIgnoreImportMapping() && this.config.importMapping().containsKey(name)) {
+                        LOGGER.info(String.format("Model %s not imported due to import mapping", name));
+                        continue;
+                    }
+                    Map<String, Object> models = processModels(this.config, Collections.singletonMap(name, definitions.get(name)), definitions);
+                    if (models != null) {
+                        models.put("classname", this.config.toModelName(name));
+                        models.putAll(this.config.additionalProperties());
+                        processedModels.put(name, models);
+                    }
+                } catch (Exception e) {
+                    String message = String.format("Could not process model '%s'. Please make sure that your schema is correct!", name);
+                    LOGGER.error(message, e);
+                    throw new RuntimeException(message, e);
+                }
+            }
+            processedModels = this.config.postProcessAllModels(processedModels);
+
+            for (Object models : processedModels.values()) {
+                for (CodegenModel model : getModels(models)) {
+                    if (model.children != null && model.children.size() > 1) {
+                        if (childrenOrder == null) {
+                            childrenOrder = getChildrenOrder(definitions, modelKeys, modelOrder);
+                        }
+                        Map<String, Integer> order = childrenOrder;
+                        model.children.sort(Comparator.comparing(e -> order.getOrDefault(e.classname, Integer.MAX_VALUE)));
+                    }
+                }
+            }
+
+            for (Entry<String, Object> models : processedModels.entrySet()) {
+                generateModel(files, models.getKey(), getMap(models.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Renders a processed Model, as {@link DefaultGenerator#generateModels(List, List)} does.
+     *
+     * @param files
+     *            Generated files
+     * @param modelName
+     *            Model name
+     * @param models
+     *            Processed Model
+     */
+    private void generateModel(List<File> files, String modelName, Map<String, Object> models) {
+        models.put("modelPackage", this.config.modelPackage());
+        try {
+            if (this.config.getIgnoreImportMapping() || !this.config.importMapping().containsKey(modelName)) {
+                List<CodegenModel> codegenModels = getModels(models);
+                boolean skipAlias = this.config.getSkipAliasGeneration() != null && this.config.getSkipAliasGeneration();
+                if (!skipAlias || codegenModels.isEmpty() || !codegenModels.get(0).isAlias) {
+                    for (Entry<String, String> modelTemplateFile : this.config.modelTemplateFiles().entrySet()) {
+                        String filename = this.config.modelFileFolder() + File.separator + this.config.toModelFilename(modelName) + modelTemplateFile.getValue();
+                        if (this.config.shouldOverwrite(filename)) {
+                            File written = processTemplateToFile(models, modelTemplateFile.getKey(), filename);
+                            if (written != null) {
+                                files.add(written);
+                            }
+                        } else {
+                            LOGGER.info(String.format("Skipped overwriting %s", filename));
+                        }
+                    }
+                    if (this.isGenerateModelTests) {
+                        generateModelTests(files, models, modelName);
+                    }
+                    if (this.isGenerateModelDocumentation) {
+                        generateModelDocumentation(files, models, modelName);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(String.format("Could not generate model '%s'", modelName), e);
+        }
+    }
+
+    /**
+     * Returns the names of the Models to generate, restricted by the <i>models</i> system property as {@link DefaultGenerator#generateModels(List,
+     * List)} does.
+     *
+     * @param definitions
+     *            Models of the source
+     * @return Names of the Models to generate
+     */
+    private static Set<String> getModelKeys(Map<String, Model> definitions) {
+        Set<String> result = new LinkedHashSet<>(definitions.keySet());
+
+        String modelNames = System.getProperty("models");
+        if (modelNames != null && !modelNames.isEmpty()) {
+            result.retainAll(Arrays.asList(modelNames.split(",")));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the Models grouped by inheritance: each family holds the Models linked through the references of their <i>allOf</i>.
+     *
+     * @param definitions
+     *            Models of the source
+     * @param modelKeys
+     *            Names of the Models to generate
+     * @return Families of Models, in the order of the source
+     */
+    private static Collection<List<String>> getModelFamilies(Map<String, Model> definitions, Set<String> modelKeys) {
+        Map<String, String> parents = new HashMap<>();
+        for (String name : modelKeys) {
+            Model model = definitions.get(name);
+            if (model instanceof ComposedModel) {
+                ComposedModel composedModel = (ComposedModel) model;
+                List<Model> references = new ArrayList<>();
+                if (composedModel.getAllOf() != null) {
+                    references.addAll(composedModel.getAllOf());
+                }
+                if (composedModel.getParent() != null) {
+                    references.add(composedModel.getParent());
+                }
+                if (composedModel.getInterfaces() != null) {
+                    references.addAll(composedModel.getInterfaces());
+                }
+                for (Model reference : references) {
+                    if (reference instanceof RefModel) {
+                        parents.put(getFamily(parents, ((RefModel) reference).getSimpleRef()), getFamily(parents, name));
+                    }
+                }
+            }
+        }
+
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (String name : modelKeys) {
+            result.computeIfAbsent(getFamily(parents, name), e -> new ArrayList<>()).add(name);
+        }
+
+        return result.values();
+    }
+
+    /**
+     * Returns the representative of the family of a Model.
+     *
+     * @param parents
+     *            Links between the Models of a family
+     * @param name
+     *            Model name
+     * @return Representative of the family
+     */
+    private static String getFamily(Map<String, String> parents, String name) {
+        String result = name;
+
+        while (parents.containsKey(result) && !parents.get(result).equals(result)) {
+            result = parents.get(result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the order of the processed Models of {@link DefaultGenerator#generateModels(List, List)}: by inheritance depth and then by name.
+     *
+     * @param definitions
+     *            Models of the source
+     * @return Order of the Models
+     */
+    private Comparator<String> getModelOrder(Map<String, Model> definitions) {
+        return Comparator.<String> comparingInt(e -> getInheritanceDepth(definitions, definitions.get(e))).thenComparing(this.config::toModelName);
+    }
+
+    /**
+     * Returns the order of the children of the Models of {@link CodegenConfig#postProcessAllModels(Map)} when all the Models are processed
+     * together, that is the order of their names in a hash map. <br>
+     * It replicates Swagger CodeGen 2.4.13, the <i>OutputEquivalenceCheck</i> of the benchmarks compares the generated files with the ones of the
+     * default mode.
+     *
+     * @param definitions
+     *            Models of the source
+     * @param modelKeys
+     *            Names of the Models to generate
+     * @param modelOrder
+     *            Order of the processed Models
+     * @return Index of each class name
+     */
+    private Map<String, Integer> getChildrenOrder(Map<String, Model> definitions, Set<String> modelKeys, Comparator<String> modelOrder) {
+        Map<String, Integer> result = new HashMap<>();
+
+        Map<String, Object> processedModels = new TreeMap<>(modelOrder);
+        for (String name : modelKeys) {
+            Model model = definitions.get(name);
+            if ((this.config.getIgnoreImportMapping() || !this.config.importMapping().containsKey(name))
+                && (model.getVendorExtensions() == null || !model.getVendorExtensions().containsKey("x-codegen-ignore"))) {
+                processedModels.put(name, name);
+            }
+        }
+        Map<String, Object> allModels = new HashMap<>();
+        for (String name : processedModels.keySet()) {
+            allModels.put(this.config.toModelName(name), name);
+        }
+        for (String modelName : allModels.keySet()) {
+            result.put(modelName, result.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the inheritance depth of a Model, as {@link DefaultGenerator#generateModels(List, List)} does.
+     *
+     * @param definitions
+     *            Models of the source
+     * @param model
+     *            Model
+     * @return Inheritance depth
+     */
+    private static int getInheritanceDepth(Map<String, Model> definitions, Model model) {
+        int result = 0;
+
+        Model parent = getParent(definitions, model);
+        while (parent != null) {
+            result++;
+            parent = getParent(definitions, parent);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the parent of a Model, as {@link DefaultGenerator#generateModels(List, List)} does.
+     *
+     * @param definitions
+     *            Models of the source
+     * @param model
+     *            Model
+     * @return Parent, <i>null</i> if the Model has no parent
+     */
+    private static Model getParent(Map<String, Model> definitions, Model model) {
+        Model result = null;
+
+        if (model instanceof ComposedModel) {
+            Model parent = ((ComposedModel) model).getParent();
+            List<RefModel> interfaces = ((ComposedModel) model).getInterfaces();
+            if (parent != null) {
+                result = definitions.get(parent.getReference());
+            } else if (interfaces != null && !interfaces.isEmpty()) {
+                result = definitions.get(interfaces.get(0).getSimpleRef());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the Codegen Models of a processed Model.
+     *
+     * @param models
+     *            Processed Model
+     * @return Codegen Models
+     */
+    @SuppressWarnings("unchecked")
+    private static List<CodegenModel> getModels(Object models) {
+        List<CodegenModel> result = new ArrayList<>();
+
+        for (Map<String, Object> model : (List<Map<String, Object>>) getMap(models).get("models")) {
+            if (model.get("model") instanceof CodegenModel) {
+                result.add((CodegenModel) model.get("model"));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a processed Model as a map.
+     *
+     * @param models
+     *            Processed Model
+     * @return Processed Model
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getMap(Object models) {
+        return (Map<String, Object>) models;
+    }
+
+    /**
+     * Returns the paths of the source grouped by the API their operations are grouped in.
+     *
+     * @return Paths by API, <i>null</i> if the API of a path depends on its operations
+     */
+    private Map<String, Map<String, io.swagger.models.Path>> getApiGroups() {
+        Map<String, Map<String, io.swagger.models.Path>> result = null;
+
+        if (this.config instanceof Codegen && this.swagger.getPaths() != null) {
+            result = new LinkedHashMap<>();
+            for (Entry<String, io.swagger.models.Path> path : this.swagger.getPaths().entrySet()) {
+                String apiGroup = ((Codegen) this.config).getApiGroup(path.getKey(), path.getValue());
+                if (apiGroup == null) {
+                    result = null;
+                    break;
+                }
+                result.computeIfAbsent(apiGroup, e -> new LinkedHashMap<>()).put(path.getKey(), path.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if the paths of the API's, one API after the other, are in the order of the source.
+     *
+     * @param apiGroups
+     *            Paths by API
+     * @param paths
+     *            Paths of the source
+     * @return true, if the paths are in the order of the source
+     */
+    private static boolean isSourceOrder(Map<String, Map<String, io.swagger.models.Path>> apiGroups, Map<String, io.swagger.models.Path> paths) {
+        Iterator<String> sourcePaths = paths.keySet().iterator();
+
+        return apiGroups.values().stream().flatMap(e -> e.keySet().stream()).allMatch(e -> sourcePaths.hasNext() && sourcePaths.next().equals(e));
+    }
+
+    /**
+     * Returns the API's of this shard among the converted operations, splitting them as the other shards do since all of them convert the same
+     * operations.
+     *
+     * @param apis
+     *            Converted operations by API
+     * @return Converted operations of the API's of this shard
+     */
+    private Map<String, List<CodegenOperation>> getShardApis(Map<String, List<CodegenOperation>> apis) {
+        Map<String, List<CodegenOperation>> result = new TreeMap<>();
+
+        assignShards();
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        apis.forEach((name, operations) -> weights.put(name, operations.size()));
+        Map<String, Integer> shards = assignShards(weights, this.shardLoads.clone());
+        apis.forEach((name, operations) -> {
+            if (shards.get(name) == this.shard) {
+                result.put(name, operations);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Returns the shard of each API.
+     *
+     * @return Shard by API, <i>null</i> if the API's depend on their operations and are split after converting them
+     */
+    private Map<String, Integer> getApiShards() {
+        assignShards();
+
+        return this.apiShards;
+    }
+
+    /**
+     * Returns the shard of each Model family.
+     *
+     * @return Shard by the first Model of the family
+     */
+    private Map<String, Integer> getModelShards() {
+        assignShards();
+
+        return this.modelShards;
+    }
+
+    /**
+     * Splits the API's and the Model families among the shards. <br>
+     * The split depends on the source only, so that the Generators of all the shards compute the same one. When the interface of a path depends
+     * on its operations the API's are split later, by {@link #getShardApis(Map)}.
+     */
+    private void assignShards() {
+        if (this.modelShards == null) {
+            long[] loads = new long[this.shards];
+
+            Map<String, Integer> apiWeights = new LinkedHashMap<>();
+            if (this.isGenerateApis && this.swagger.getPaths() != null) {
+                Map<String, Map<String, io.swagger.models.Path>> apiGroups = getApiGroups();
+                if (apiGroups != null) {
+                    apiGroups.forEach((name, paths) -> apiWeights.put(name, paths.values().stream().mapToInt(e -> e.getOperations().size()).sum()));
+                }
+            }
+            Map<String, Integer> modelWeights = new LinkedHashMap<>();
+            if (this.isGenerateModels && this.swagger.getDefinitions() != null) {
+                for (List<String> family : getModelFamilies(this.swagger.getDefinitions(), getModelKeys(this.swagger.getDefinitions()))) {
+                    modelWeights.put(family.get(0), family.size());
+                }
+            }
+
+            this.apiShards = apiWeights.isEmpty() ? null : assignShards(apiWeights, loads);
+            this.modelShards = assignShards(modelWeights, loads);
+            this.shardLoads = loads;
+        }
+    }
+
+    /**
+     * Assigns each group to the least loaded shard, taking the heaviest groups first.
+     *
+     * @param weights
+     *            Weight of each group, in the order of the source
+     * @param loads
+     *            Load of each shard, updated with the assigned groups
+     * @return Shard by group
+     */
+    private static Map<String, Integer> assignShards(Map<String, Integer> weights, long[] loads) {
+        Map<String, Integer> result = new HashMap<>();
+
+        List<Entry<String, Integer>> groups = new ArrayList<>(weights.entrySet());
+        groups.sort(Entry.<String, Integer> comparingByValue().reversed());
+        for (Entry<String, Integer> group : groups) {
+            int shard = 0;
+            for (int i = 1; i < loads.length; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+            loads[shard] += group.getValue();
+            result.put(group.getKey(), shard);
+        }
+
+        return result;
+    }
+
     @Override
     public String getFullTemplateFile(CodegenConfig config, String templateFile) {
         if (templateFile.equals(config.apiTemplateFiles().keySet().stream().findFirst().get())) {
-            ClassPathResource mustache = new ClassPathResource("swagger-codegen-maven-plugin-api.mustache");
-            return mustache.getPath();
+            return API_TEMPLATE;
         }
         return super.getFullTemplateFile(config, templateFile);
     }
@@ -23,69 +23,136 @@ SOFTWARE.
  */
 package it.ninjatech.swaggercodegenmavenplugin.core;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.apache.maven.plugin.logging.Log;
 import org.codehaus.plexus.util.StringUtils;
+import org.springframework.core.io.ClassPathResource;
 
 import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.auth.AuthParser;
 import io.swagger.codegen.config.CodegenConfigurator;
 import io.swagger.codegen.languages.AbstractJavaCodegen;
 import io.swagger.codegen.languages.features.BeanValidationFeatures;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
 import it.ninjatech.swaggercodegenmavenplugin.configuration.Configuration;
+import it.ninjatech.swaggercodegenmavenplugin.configuration.DataTypeMapping;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Span;
+import it.ninjatech.swaggercodegenmavenplugin.core.FlightEvents.Type;
 
 /**
  * <p>
- * Factory for {@link CodegenConfigurator}. <br>
- * It is a singleton that configures the {@link CodegenConfigurator} once.
+ * Factory for {@link Generator}. <br>
+ * An instance is made for each execution, with its own log and caches of the read URL's and of the parsed models, and configures a new
+ * {@link CodegenConfigurator} for each source. <br>
+ * The resolved {@link Configuration} lives as long as the plug-in class loader, that under the Maven daemon spans many builds: it is shared by the
+ * following executions with the same ID only if their {@link Configuration} is the same and none of the files the Data Type Mapping has been
+ * resolved from has changed, otherwise it is replaced. Nothing of an execution is shared, so that the executions of the modules built in parallel
+ * don't interfere; the parsed models are kept by the {@link SourceStore} and the compiled templates by the {@link TemplateStore}.
  * </p>
  * 
  * @author Vincenzo Mazzeo
- * @version 2.0
+ * @version 3.0
  * @since 1.0.0
  */
 public final class GeneratorFactory {
 
-    /** Instances by ID. */
-    private final static Map<String, GeneratorFactory> GENERATOR_FACTORIES = new HashMap<>();
+    /** Resolved Configurations by ID. */
+    private final static Map<String, ResolvedConfiguration> RESOLVED_CONFIGURATIONS = new HashMap<>();
 
     /**
-     * Returns the Singleton instance.
+     * Returns the instance of an execution, sharing the {@link Configuration} resolved by a previous execution with the same ID when still valid.
      *
      * @param log
      *            Log
      * @param configuration
      *            Configuration
-     * @return Singleton instance
+     * @return Instance of the execution
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
     public static GeneratorFactory getInstance(Log log, Configuration configuration) throws IOException {
-        GeneratorFactory result = null;
+        return new GeneratorFactory(log, configuration, true);
+    }
 
-        result = GENERATOR_FACTORIES.get(configuration.getId());
-        if (result == null) {
-            result = new GeneratorFactory(log, configuration);
-            GENERATOR_FACTORIES.put(configuration.getId(), result);
+    /**
+     * Returns the {@link Configuration} resolved by a previous execution with the same ID, or resolves it if it has changed.
+     *
+     * @param log
+     *            Log
+     * @param configuration
+     *            Configuration
+     * @param httpCache
+     *            Cache used to read the External Resources
+     * @return Resolved Configuration
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static synchronized ResolvedConfiguration getResolvedConfiguration(Log log, Configuration configuration, HttpCache httpCache)
+            throws IOException {
+        ResolvedConfiguration result = null;
+
+        result = RESOLVED_CONFIGURATIONS.get(configuration.getId());
+        if (result != null && result.isReusable(configuration)) {
+            log.info("Reusing the resolved Configuration");
+        } else {
+            result = new ResolvedConfiguration(log, configuration, httpCache);
+            RESOLVED_CONFIGURATIONS.put(configuration.getId(), result);
         }
 
         return result;
     }
 
-    /** The log. */
+    /**
+     * Returns the content of the passed {@link Configuration} that the instances depend on.
+     *
+     * @param configuration
+     *            Configuration
+     * @return Content
+     */
+    private static String getContent(Configuration configuration) {
+        StringBuilder result = new StringBuilder(configuration.toString());
+
+        result.append('\n').append(configuration.isOffline()).append('|').append(configuration.isLowMemory());
+        DataTypeMapping dataTypeMapping = configuration.getDataTypeMapping();
+        if (dataTypeMapping != null) {
+            new TreeMap<>(dataTypeMapping.getDirectMap()).forEach((alias, type) -> result.append("\nalias|").append(alias).append('|').append(type));
+            new TreeSet<>(dataTypeMapping.getPackages()).forEach(e -> result.append("\npackage|").append(e));
+            dataTypeMapping.getExternalResources().stream().map(URL::toString).sorted().forEach(e -> result.append("\nresource|").append(e));
+        }
+
+        return result.toString();
+    }
+
+    /** The log of the execution. */
     private final Log log;
 
-    /** The Codegen Configurator. */
-    private final CodegenConfigurator codegenConfigurator;
+    /** The Configuration. */
+    private final Configuration configuration;
+
+    /** The resolved Configuration. */
+    private final ResolvedConfiguration resolvedConfiguration;
+
+    /** The cache of the parsed models, <i>null</i> if the cache is not enabled. */
+    private final SwaggerCache swaggerCache;
+
+    /** The cache of the content of the URL's read by the execution. */
+    private final HttpCache httpCache;
 
     /**
-     * Instantiates a new Generator Factory.
+     * Instantiates a new Generator Factory, resolving the {@link Configuration}.
      *
      * @param log
      *            Log
@@ -95,29 +162,63 @@ public final class GeneratorFactory {
      *             Signals that an I/O exception has occurred.
      */
     private GeneratorFactory(Log log, Configuration configuration) throws IOException {
-        this.log = log;
-        this.codegenConfigurator = new CodegenConfigurator();
-
-        log.info(configuration.toString());
+        this(log, configuration, false);
+    }
 
-        configure(configuration);
+    /**
+     * Instantiates a new Generator Factory.
+     *
+     * @param log
+     *            Log
+     * @param configuration
+     *            Configuration
+     * @param shared
+     *            Whether the {@link Configuration} resolved by a previous execution is shared
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private GeneratorFactory(Log log, Configuration configuration, boolean shared) throws IOException {
+        this.log = log;
+        this.configuration = configuration;
+        this.swaggerCache = configuration.isEnableCache() ? new SwaggerCache(log, new File(configuration.getCacheFolder(), "swagger")) : null;
+        this.httpCache = new HttpCache(log,
+                                       configuration.isEnableCache() ? new File(configuration.getCacheFolder(), "http") : null,
+                                       configuration.isOffline());
+        this.resolvedConfiguration = shared
+                ? getResolvedConfiguration(log, configuration, this.httpCache)
+                : new ResolvedConfiguration(log, configuration, this.httpCache);
     }
 
     /**
-     * Makes a new instance of the {@link DefaultGenerator} from the {@link CodegenConfigurator} set with the source passed as input.
+     * Makes a new instance of the {@link DefaultGenerator} from a new {@link CodegenConfigurator} set with the source passed as input. <br>
+     * Each call works on its own {@link CodegenConfigurator} and {@link Codegen}, so that it is safe to make and run Generators concurrently.
      *
      * @param source
      *            SWAGGER source
+     * @param sourceStore
+     *            Build scoped store of the parsed sources
      * @return Default Generator
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
      */
-    public Generator make(URL source) {
+    public Generator make(URL source, SourceStore sourceStore) throws IOException {
         Generator result = null;
 
-        this.codegenConfigurator.setInputSpec(source.toString());
+        ClientOptInput input = null;
+        Span span = FlightEvents.begin(Type.MAKE, source.toString(), null);
+        try {
+            CodegenConfigurator codegenConfigurator = new CodegenConfigurator();
+            configure(codegenConfigurator);
+            codegenConfigurator.setInputSpec(source.toString());
 
-        ClientOptInput input = this.codegenConfigurator.toClientOptInput();
+            input = toClientOptInput(codegenConfigurator, newCodegen(), parse(codegenConfigurator, source, sourceStore));
+        } finally {
+            span.end();
+        }
 
         result = new Generator();
+        result.setWriteChangedFilesOnly(this.configuration.isWriteChangedFilesOnly());
+        result.setLowMemory(this.configuration.isLowMemory());
         result.opts(input);
         result.setGeneratorPropertyDefault(CodegenConstants.APIS, Boolean.FALSE.toString());
         result.setGeneratorPropertyDefault(CodegenConstants.MODELS, Boolean.FALSE.toString());
@@ -131,42 +232,265 @@ public final class GeneratorFactory {
     }
 
     /**
-     * Configures the {@link CodegenConfigurator} with the passed {@link Configuration}.
+     * Returns the key of the passed source, that is the checksum of its content and of the content of all the files it references. <br>
+     * The source and the files it references are read through the cache of the URL's of this factory, once per build.
      *
-     * @param configuration
-     *            Configuration
+     * @param source
+     *            SWAGGER source
+     * @param sourceStore
+     *            Build scoped store of the parsed sources
+     * @return Key
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public String getSourceKey(URL source, SourceStore sourceStore) throws IOException {
+        return sourceStore.key(source, this.httpCache);
+    }
+
+    /**
+     * Returns the fingerprint of the Generators made by this factory. <br>
+     * It is the checksum of the {@link Configuration}, of the resolved Data Type Mapping and of the API template.
+     *
+     * @return Fingerprint
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public String getFingerprint() throws IOException {
+        return this.resolvedConfiguration.getFingerprint();
+    }
+
+    /**
+     * Configures the {@link CodegenConfigurator} with the {@link Configuration} and the resolved Data Type Mapping.
+     *
+     * @param codegenConfigurator
+     *            Codegen Configurator
+     */
+    private void configure(CodegenConfigurator codegenConfigurator) {
+        codegenConfigurator.setLang(this.configuration.getJavaCodegen().getName());
+        codegenConfigurator.setVerbose(this.configuration.isVerbose());
+        codegenConfigurator.setOutputDir(this.configuration.getOutputFolder().getAbsolutePath());
+        codegenConfigurator.setModelPackage(this.configuration.getModelPackage());
+        codegenConfigurator.setApiPackage(this.configuration.getApiPackage());
+        codegenConfigurator.addAdditionalProperty(AbstractJavaCodegen.DATE_LIBRARY, this.configuration.getDateLibrary().getValue());
+        codegenConfigurator.addAdditionalProperty(BeanValidationFeatures.USE_BEANVALIDATION, this.configuration.isEnableBeanValidation());
+        codegenConfigurator.addAdditionalProperty(AbstractJavaCodegen.JAVA8_MODE, this.configuration.isEnableJava8());
+        codegenConfigurator.addAdditionalProperty(Codegen.FORCE_JDK8_OFF, !this.configuration.isEnableJava8());
+        codegenConfigurator.addAdditionalProperty(Codegen.SECURITY_HEADERS_AS_ARGUMENTS, this.configuration.isSecurityHeadersAsArguments());
+        codegenConfigurator.addAdditionalProperty(Codegen.BASE_PATH_AS_ROOT, this.configuration.isBasePathAsRoot());
+        if (StringUtils.isNotBlank(this.configuration.getApiSuffix())) {
+            codegenConfigurator.addAdditionalProperty(Codegen.API_SUFFIX, this.configuration.getApiSuffix());
+        }
+        if (StringUtils.isNotBlank(this.configuration.getModelNameSuffix())) {
+            codegenConfigurator.addAdditionalProperty(CodegenConstants.MODEL_NAME_SUFFIX, this.configuration.getModelNameSuffix());
+        }
+
+        for (Entry<String, TypeData> typeMappingEntry : this.resolvedConfiguration.typeMapping.entrySet()) {
+            codegenConfigurator.addTypeMapping(typeMappingEntry.getKey(), typeMappingEntry.getValue().getName());
+            codegenConfigurator.addImportMapping(typeMappingEntry.getKey(), typeMappingEntry.getValue().getFullyQualifiedName());
+        }
+    }
+
+    /**
+     * Parses and resolves the source. <br>
+     * The model is taken from the build scoped store if the source has already been parsed during the build, or from the cache when the source and
+     * the files it references have not changed.
+     *
+     * @param codegenConfigurator
+     *            Codegen Configurator
+     * @param source
+     *            SWAGGER source
+     * @param sourceStore
+     *            Build scoped store of the parsed sources
+     * @return Parsed model
      * @throws IOException
      *             Signals that an I/O exception has occurred.
      */
-    private void configure(Configuration configuration) throws IOException {
-        this.codegenConfigurator.setLang(configuration.getJavaCodegen().getName());
-        this.codegenConfigurator.setVerbose(configuration.isVerbose());
-        this.codegenConfigurator.setOutputDir(configuration.getOutputFolder().getAbsolutePath());
-        this.codegenConfigurator.setModelPackage(configuration.getModelPackage());
-        this.codegenConfigurator.setApiPackage(configuration.getApiPackage());
-        this.codegenConfigurator.addAdditionalProperty(AbstractJavaCodegen.DATE_LIBRARY, configuration.getDateLibrary().getValue());
-        this.codegenConfigurator.addAdditionalProperty(BeanValidationFeatures.USE_BEANVALIDATION, configuration.isEnableBeanValidation());
-        this.codegenConfigurator.addAdditionalProperty(AbstractJavaCodegen.JAVA8_MODE, configuration.isEnableJava8());
-        this.codegenConfigurator.addAdditionalProperty(Codegen.FORCE_JDK8_OFF, !configuration.isEnableJava8());
-        this.codegenConfigurator.addAdditionalProperty(Codegen.SECURITY_HEADERS_AS_ARGUMENTS, configuration.isSecurityHeadersAsArguments());
-        this.codegenConfigurator.addAdditionalProperty(Codegen.BASE_PATH_AS_ROOT, configuration.isBasePathAsRoot());
-        if (StringUtils.isNotBlank(configuration.getApiSuffix())) {
-            this.codegenConfigurator.addAdditionalProperty(Codegen.API_SUFFIX, configuration.getApiSuffix());
-        }
-        if (StringUtils.isNotBlank(configuration.getModelNameSuffix())) {
-            this.codegenConfigurator.addAdditionalProperty(CodegenConstants.MODEL_NAME_SUFFIX, configuration.getModelNameSuffix());
-        }
-
-        Map<String, TypeData> typeMapping = DataTypeMappingHandler.handle(this.log, configuration.getDataTypeMapping());
-        if (!typeMapping.isEmpty()) {
-            this.log.info("Data Type Mapping");
-            for (Entry<String, TypeData> typeMappingEntry : typeMapping.entrySet()) {
-                this.codegenConfigurator.addTypeMapping(typeMappingEntry.getKey(), typeMappingEntry.getValue().getName());
-                this.codegenConfigurator.addImportMapping(typeMappingEntry.getKey(), typeMappingEntry.getValue().getFullyQualifiedName());
-
-                this.log.info(String.format("    %s -> %s", typeMappingEntry.getKey(), typeMappingEntry.getValue().getFullyQualifiedName()));
+    private Swagger parse(CodegenConfigurator codegenConfigurator, URL source, SourceStore sourceStore) throws IOException {
+        Swagger result = null;
+
+        String key = getSourceKey(source, sourceStore);
+        byte[] model = sourceStore.get(key);
+        if (model != null) {
+            this.log.info(String.format("Using the model of %s parsed during this build", source.toString()));
+        } else if (this.swaggerCache != null) {
+            model = this.swaggerCache.get(key);
+            if (model != null) {
+                this.log.info(String.format("Using the cached model of %s", source.toString()));
+                sourceStore.put(key, model, !this.configuration.isLowMemory());
+            }
+        }
+
+        if (model != null) {
+            try {
+                result = SwaggerCache.decode(model);
+            } catch (IOException e) {
+                this.log.warn(String.format("Unable to decode the model of %s, the source will be parsed", source.toString()), e);
+            }
+        }
+        if (result == null) {
+            result = new SwaggerParser().read(codegenConfigurator.getInputSpec(), AuthParser.parse(codegenConfigurator.getAuth()), true);
+            if (result != null) {
+                model = SwaggerCache.encode(result);
+                sourceStore.put(key, model, !this.configuration.isLowMemory());
+                if (this.swaggerCache != null) {
+                    this.swaggerCache.put(key, model);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Instantiates the Java Codegen of the {@link Configuration}. <br>
+     * It is instantiated directly, instead of through the {@link io.swagger.codegen.CodegenConfigLoader}, that instantiates each Codegen bundled with
+     * SWAGGER Codegen looking for the one having its name. A Codegen is changed by the generation, so each Generator needs its own one.
+     *
+     * @return Codegen
+     */
+    private CodegenConfig newCodegen() {
+        try {
+            return this.configuration.getJavaCodegen().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(String.format("Can't instantiate the Codegen %s", this.configuration.getJavaCodegen().getName()), e);
+        }
+    }
+
+    /**
+     * Returns the {@link ClientOptInput} for the passed model. <br>
+     * It applies the settings of the {@link CodegenConfigurator} to the passed {@link Codegen} as {@link CodegenConfigurator#toClientOptInput()}
+     * does, without parsing the source again.
+     *
+     * @param codegenConfigurator
+     *            Codegen Configurator
+     * @param config
+     *            New Codegen
+     * @param swagger
+     *            Parsed model
+     * @return Client Opt Input
+     */
+    private static ClientOptInput toClientOptInput(CodegenConfigurator codegenConfigurator, CodegenConfig config, Swagger swagger) {
+        if (codegenConfigurator.isVerbose()) {
+            System.setProperty("debugSwagger", "");
+            System.setProperty("debugModels", "");
+            System.setProperty("debugOperations", "");
+            System.setProperty("debugSupportingFiles", "");
+        }
+
+        config.setInputSpec(codegenConfigurator.getInputSpec());
+        config.setOutputDir(codegenConfigurator.getOutputDir());
+        config.setSkipOverwrite(codegenConfigurator.isSkipOverwrite());
+        config.typeMapping().putAll(codegenConfigurator.getTypeMappings());
+        config.importMapping().putAll(codegenConfigurator.getImportMappings());
+        if (StringUtils.isNotEmpty(codegenConfigurator.getApiPackage())) {
+            config.additionalProperties().put(CodegenConstants.API_PACKAGE, codegenConfigurator.getApiPackage());
+        }
+        if (StringUtils.isNotEmpty(codegenConfigurator.getModelPackage())) {
+            config.additionalProperties().put(CodegenConstants.MODEL_PACKAGE, codegenConfigurator.getModelPackage());
+        }
+        config.additionalProperties().putAll(codegenConfigurator.getAdditionalProperties());
+
+        return new ClientOptInput().config(config).opts(new ClientOpts()).swagger(swagger);
+    }
+
+    /**
+     * {@link Configuration} resolved once and shared by the executions with the same ID: its resolved Data Type Mapping and the fingerprint of
+     * the Generators.
+     */
+    private static final class ResolvedConfiguration {
+
+        /** The Configuration. */
+        private final Configuration configuration;
+
+        /** The content of the Configuration. */
+        private final String content;
+
+        /** The resolved Data Type Mapping. */
+        private final Map<String, TypeData> typeMapping;
+
+        /** The stamps of the files the Data Type Mapping has been resolved from, <i>null</i> if some of them are not local. */
+        private final FileStamps typeMappingStamps;
+
+        /** The fingerprint. */
+        private String fingerprint;
+
+        /**
+         * Instantiates a new Resolved Configuration.
+         *
+         * @param log
+         *            Log
+         * @param configuration
+         *            Configuration
+         * @param httpCache
+         *            Cache used to read the External Resources
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        private ResolvedConfiguration(Log log, Configuration configuration, HttpCache httpCache) throws IOException {
+            this.configuration = configuration;
+            this.content = getContent(configuration);
+
+            log.info(configuration.toString());
+
+            this.typeMapping = configuration.isEnableCache()
+                    ? new TypeMappingCache(log, new File(configuration.getCacheFolder(), "type-mapping"), httpCache).resolve(configuration.getDataTypeMapping())
+                    : DataTypeMappingHandler.handle(log, configuration.getDataTypeMapping(), httpCache);
+            if (!this.typeMapping.isEmpty()) {
+                log.info("Data Type Mapping");
+                for (Entry<String, TypeData> typeMappingEntry : this.typeMapping.entrySet()) {
+                    log.info(String.format("    %s -> %s", typeMappingEntry.getKey(), typeMappingEntry.getValue().getFullyQualifiedName()));
+                }
             }
+            this.typeMappingStamps = TypeMappingCache.stamps(configuration.getDataTypeMapping(), httpCache);
+        }
+
+        /**
+         * Checks if this instance can be shared by an execution with the passed {@link Configuration}.
+         *
+         * @param configuration
+         *            Configuration of the execution
+         * @return true, if the Configuration is the same and none of the files the Data Type Mapping has been resolved from has changed
+         */
+        private boolean isReusable(Configuration configuration) {
+            return this.content.equals(getContent(configuration)) && this.typeMappingStamps != null && this.typeMappingStamps.isUnchanged();
         }
+
+        /**
+         * Returns the fingerprint of the Generators. <br>
+         * It is the checksum of the settings of the {@link Configuration} affecting the generated files, of the resolved Data Type Mapping and of
+         * the API template, so that the settings of the build only don't change it.
+         *
+         * @return Fingerprint
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        private synchronized String getFingerprint() throws IOException {
+            if (this.fingerprint == null) {
+                StringBuilder content = new StringBuilder();
+
+                content.append(this.configuration.getJavaCodegen().getName());
+                content.append('\n').append(this.configuration.getOutputFolder().getAbsolutePath());
+                content.append('\n').append(this.configuration.getModelPackage());
+                content.append('\n').append(this.configuration.getApiPackage());
+                content.append('\n').append(this.configuration.isEnableJava8());
+                content.append('\n').append(this.configuration.getDateLibrary().getValue());
+                content.append('\n').append(this.configuration.isEnableBeanValidation());
+                content.append('\n').append(this.configuration.isSecurityHeadersAsArguments());
+                content.append('\n').append(this.configuration.isBasePathAsRoot());
+                content.append('\n').append(StringUtils.defaultString(this.configuration.getApiSuffix()));
+                content.append('\n').append(StringUtils.defaultString(this.configuration.getModelNameSuffix()));
+                new TreeMap<>(this.typeMapping).forEach((alias, typeData) -> content.append('\n')
+                                                                                    .append(alias)
+                                                                                    .append(" -> ")
+                                                                                    .append(typeData.getFullyQualifiedName()));
+                content.append('\n').append(Checksum.of(new ClassPathResource(Generator.API_TEMPLATE).getURL()));
+
+                this.fingerprint = Checksum.of(content.toString());
+            }
+
+            return this.fingerprint;
+        }
+
     }
 
 }
@@ -0,0 +1,285 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * <p>
+ * Cache of the content linked by the URL's read by the plug-in: SWAGGER sources, the files they reference and the External Resources of the
+ * {@link it.ninjatech.swaggercodegenmavenplugin.configuration.DataTypeMapping}. <br>
+ * Each URL is read once per instance. When a cache folder is set, the content of the HTTP URL's is also stored on disk together with its
+ * <i>ETag</i> and <i>Last-Modified</i> headers, that are sent back in a conditional request so that an unchanged content is not downloaded
+ * again. <br>
+ * In offline mode the HTTP URL's are never requested and only the content stored on disk is used, so they can't be read when the cache folder is
+ * not set.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class HttpCache {
+
+    /** Extension of the entries content. */
+    private static final String CONTENT_EXTENSION = ".content";
+
+    /** Extension of the entries headers. */
+    private static final String HEADERS_EXTENSION = ".properties";
+
+    /** The Constant URL_PROPERTY. */
+    private static final String URL_PROPERTY = "url";
+
+    /** The Constant ETAG_HEADER. */
+    private static final String ETAG_HEADER = "ETag";
+
+    /** The Constant LAST_MODIFIED_HEADER. */
+    private static final String LAST_MODIFIED_HEADER = "Last-Modified";
+
+    /** The log. */
+    private final Log log;
+
+    /** Cache folder, <i>null</i> if the content is not stored on disk. */
+    private final File folder;
+
+    /** Offline flag. */
+    private final boolean offline;
+
+    /** Content read by URL. */
+    private final ConcurrentMap<String, byte[]> contents;
+
+    /**
+     * Instantiates a new Http Cache.
+     *
+     * @param log
+     *            Log
+     * @param folder
+     *            Cache folder, <i>null</i> if the content must not be stored on disk
+     * @param offline
+     *            Offline flag
+     */
+    protected HttpCache(Log log, File folder, boolean offline) {
+        this.log = log;
+        this.folder = folder;
+        this.offline = offline;
+        this.contents = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the content linked by the passed URL, reading it once per instance. <br>
+     * It is safe to call it concurrently.
+     *
+     * @param url
+     *            URL
+     * @return Content
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected byte[] read(URL url) throws IOException {
+        try {
+            return this.contents.computeIfAbsent(url.toString(), e -> {
+                try {
+                    if (isHttp(url) && this.folder == null && this.offline) {
+                        throw new IOException(String.format("%s is not available offline, the cache is disabled", url.toString()));
+                    }
+                    return isHttp(url) && this.folder != null ? readHttp(url) : readDirectly(url);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads the content linked by the passed HTTP URL through the cache on disk.
+     *
+     * @param url
+     *            HTTP URL
+     * @return Content
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private byte[] readHttp(URL url) throws IOException {
+        byte[] result = null;
+
+        String key = Checksum.of(url.toString());
+        File contentFile = new File(this.folder, key + CONTENT_EXTENSION);
+        File headersFile = new File(this.folder, key + HEADERS_EXTENSION);
+        Properties headers = loadHeaders(url, contentFile, headersFile);
+
+        if (this.offline) {
+            if (headers == null) {
+                throw new IOException(String.format("%s is not available offline, it has never been downloaded", url.toString()));
+            }
+            this.log.debug(String.format("Using the cached content of %s (offline)", url.toString()));
+            result = Files.readAllBytes(contentFile.toPath());
+        } else {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            try {
+                connection.setUseCaches(false);
+                if (headers != null) {
+                    if (headers.containsKey(ETAG_HEADER)) {
+                        connection.setRequestProperty("If-None-Match", headers.getProperty(ETAG_HEADER));
+                    }
+                    if (headers.containsKey(LAST_MODIFIED_HEADER)) {
+                        connection.setRequestProperty("If-Modified-Since", headers.getProperty(LAST_MODIFIED_HEADER));
+                    }
+                }
+                int responseCode = connection.getResponseCode();
+                if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && headers != null) {
+                    this.log.debug(String.format("Using the cached content of %s (not modified)", url.toString()));
+                    result = Files.readAllBytes(contentFile.toPath());
+                } else if (responseCode == HttpURLConnection.HTTP_OK) {
+                    try (InputStream is = connection.getInputStream()) {
+                        result = IOUtils.toByteArray(is);
+                    }
+                    store(url, connection, result, contentFile, headersFile);
+                } else {
+                    throw new IOException(String.format("Unable to read %s, HTTP response %d", url.toString(), responseCode));
+                }
+            } finally {
+                connection.disconnect();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Loads the headers of the cached content of the passed URL.
+     *
+     * @param url
+     *            HTTP URL
+     * @param contentFile
+     *            File of the cached content
+     * @param headersFile
+     *            File of the cached headers
+     * @return Headers, <i>null</i> if the content is not cached or can't be read
+     */
+    private Properties loadHeaders(URL url, File contentFile, File headersFile) {
+        Properties result = null;
+
+        if (headersFile.isFile() && contentFile.isFile()) {
+            Properties headers = new Properties();
+            try (InputStream is = Files.newInputStream(headersFile.toPath())) {
+                headers.load(is);
+                if (url.toString().equals(headers.getProperty(URL_PROPERTY))) {
+                    result = headers;
+                }
+            } catch (IOException e) {
+                this.log.warn(String.format("Unable to read the cached headers %s, %s will be downloaded", headersFile, url.toString()), e);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Stores on disk the downloaded content and its validation headers. <br>
+     * The content is written before the headers, so that the headers are never paired with a partial content.
+     *
+     * @param url
+     *            HTTP URL
+     * @param connection
+     *            Connection
+     * @param content
+     *            Downloaded content
+     * @param contentFile
+     *            File of the cached content
+     * @param headersFile
+     *            File of the cached headers
+     */
+    private void store(URL url, HttpURLConnection connection, byte[] content, File contentFile, File headersFile) {
+        try {
+            Files.createDirectories(this.folder.toPath());
+            Files.deleteIfExists(headersFile.toPath());
+
+            Properties headers = new Properties();
+            headers.setProperty(URL_PROPERTY, url.toString());
+            if (connection.getHeaderField(ETAG_HEADER) != null) {
+                headers.setProperty(ETAG_HEADER, connection.getHeaderField(ETAG_HEADER));
+            }
+            if (connection.getHeaderField(LAST_MODIFIED_HEADER) != null) {
+                headers.setProperty(LAST_MODIFIED_HEADER, connection.getHeaderField(LAST_MODIFIED_HEADER));
+            }
+
+            File temporary = File.createTempFile(contentFile.getName(), null, this.folder);
+            try {
+                Files.write(temporary.toPath(), content);
+                Files.move(temporary.toPath(), contentFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                try (OutputStream os = Files.newOutputStream(temporary.toPath())) {
+                    headers.store(os, null);
+                }
+                Files.move(temporary.toPath(), headersFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary.toPath());
+            }
+        } catch (IOException e) {
+            this.log.warn(String.format("Unable to cache the content of %s", url.toString()), e);
+        }
+    }
+
+    /**
+     * Reads the content linked by the passed URL without any cache.
+     *
+     * @param url
+     *            URL
+     * @return Content
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static byte[] readDirectly(URL url) throws IOException {
+        try (InputStream is = url.openStream()) {
+            return IOUtils.toByteArray(is);
+        }
+    }
+
+    /**
+     * Returns <i>true</i> if the passed URL uses the HTTP or the HTTPS protocol.
+     *
+     * @param url
+     *            URL
+     * @return true, if it is an HTTP URL
+     */
+    private static boolean isHttp(URL url) {
+        return "http".equalsIgnoreCase(url.getProtocol()) || "https".equalsIgnoreCase(url.getProtocol());
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Registry of the imports of a bundle of Models or Operations, wrapping the <i>imports</i> list used by the templates. <br>
+ * The imported classes are indexed, so that adding an import already present costs a lookup instead of a scan of the list; the new imports are
+ * appended to the list in the order they are added, so the generated imports are the same at every run.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class ImportRegistry {
+
+    /** Key of the imported class in the entries of the imports list. */
+    private static final String IMPORT = "import";
+
+    /**
+     * Returns the registry of the imports of a bundle, creating the imports list if missing.
+     *
+     * @param objs
+     *            Bundle of Models or Operations
+     * @return Import Registry
+     */
+    @SuppressWarnings("unchecked")
+    public static ImportRegistry of(Map<String, Object> objs) {
+        List<Map<String, String>> imports = (List<Map<String, String>>) objs.get("imports");
+        if (imports == null) {
+            imports = new ArrayList<>();
+            objs.put("imports", imports);
+        }
+
+        return new ImportRegistry(imports);
+    }
+
+    /** Imports list used by the templates. */
+    private final List<Map<String, String>> imports;
+
+    /** Values of the entries of the imports list. */
+    private final Set<String> imported;
+
+    /**
+     * Instantiates a new Import Registry, indexing the imports already in the list.
+     *
+     * @param imports
+     *            Imports list
+     */
+    private ImportRegistry(List<Map<String, String>> imports) {
+        this.imports = imports;
+        this.imported = new HashSet<>();
+        for (Map<String, String> import_ : imports) {
+            this.imported.addAll(import_.values());
+        }
+    }
+
+    /**
+     * Adds the import of a class, unless already present.
+     *
+     * @param fullyQualifiedName
+     *            Fully qualified name of the class
+     * @return true, if the import has been added
+     */
+    public boolean add(String fullyQualifiedName) {
+        boolean result = this.imported.add(fullyQualifiedName);
+
+        if (result) {
+            this.imports.add(Collections.singletonMap(IMPORT, fullyQualifiedName));
+        }
+
+        return result;
+    }
+
+}
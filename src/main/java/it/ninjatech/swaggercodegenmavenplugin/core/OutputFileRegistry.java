@@ -0,0 +1,129 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Registry of the files written by Generators running concurrently. <br>
+ * When more SWAGGER sources produce the same file, the content of the source that comes later in the configuration wins, as it happens when the
+ * sources are elaborated one after another. <br>
+ * The owner of a file is decided atomically by the map, while the file is written outside of it, holding only the lock of the file, so that the
+ * writes of different files never wait for each other.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class OutputFileRegistry {
+
+    /** Owner of each file. */
+    private final ConcurrentMap<String, Owner> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the file through the passed writer unless a source coming later in the configuration has already written it.
+     *
+     * @param filename
+     *            File name
+     * @param order
+     *            Order of the source in the configuration
+     * @param writer
+     *            Writer of the file
+     * @return true, if the file has been written
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected boolean write(String filename, int order, FileWriter writer) throws IOException {
+        boolean result = false;
+
+        Owner owner = this.owners.compute(new File(filename).getAbsolutePath(),
+                                          (key, current) -> current != null ? current.claim(order) : new Owner(order));
+        synchronized (owner) {
+            // A source coming later may have claimed the file since, it writes the file once this lock is released
+            if (owner.order == order) {
+                writer.write();
+                result = true;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Owner of a file, whose lock is held while the file is written.
+     */
+    private static final class Owner {
+
+        /** Order of the source owning the file. */
+        private volatile int order;
+
+        /**
+         * Instantiates a new Owner.
+         *
+         * @param order
+         *            Order of the source
+         */
+        private Owner(int order) {
+            this.order = order;
+        }
+
+        /**
+         * Claims the file for the passed source, unless a source coming later owns it.
+         *
+         * @param order
+         *            Order of the source
+         * @return Owner
+         */
+        private Owner claim(int order) {
+            if (order > this.order) {
+                this.order = order;
+            }
+
+            return this;
+        }
+
+    }
+
+    /**
+     * Writer of a single file.
+     */
+    @FunctionalInterface
+    protected interface FileWriter {
+
+        /**
+         * Writes the file.
+         *
+         * @throws IOException
+         *             Signals that an I/O exception has occurred.
+         */
+        void write() throws IOException;
+
+    }
+
+}
@@ -0,0 +1,290 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Build scoped store of the parsed SWAGGER sources. <br>
+ * It lives in the plug-in context, that Maven shares among all the goals of the plug-in executed on the same project during a build, so that a
+ * source elaborated by more goals (e.g. <strong>generate-api</strong> and <strong>generate-model</strong>) is parsed once. <br>
+ * The models are kept encoded and are keyed by the checksum of the content of the source and of the files it references: each goal decodes its own
+ * instance, because the generation changes the model. <br>
+ * The keys and the models are kept also for the life of the JVM, so that a warm JVM, as the one of the Maven daemon, reuses them in the following
+ * builds: the key of a source is computed again only when the {@link FileStamps} of the source or of one of the files it references have changed,
+ * and a model is dropped as soon as its source gets another key. Both are bounded, dropping the least recently used ones, and the models of the
+ * executions in low memory mode are not kept beyond the build.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class SourceStore {
+
+    /** Key of the store in the plug-in context. */
+    private static final String PLUGIN_CONTEXT_KEY = SourceStore.class.getName();
+
+    /** Maximum number of JVM wide keys. */
+    private static final int MAX_WARM_KEYS = 1024;
+
+    /** Maximum size in bytes of the JVM wide encoded models. */
+    private static final long MAX_WARM_MODELS_SIZE = 64L * 1024 * 1024;
+
+    /** JVM wide keys of the sources by URL, with the stamps of the files they have been computed from, in least recently used order. */
+    private static final Map<String, WarmKey> WARM_KEYS = Collections.synchronizedMap(new LinkedHashMap<String, WarmKey>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WarmKey> eldest) {
+            return size() > MAX_WARM_KEYS;
+        }
+
+    });
+
+    /** JVM wide encoded models by key. */
+    private static final WarmModels WARM_MODELS = new WarmModels();
+
+    /**
+     * Returns the store of the passed plug-in context, creating it if needed.
+     *
+     * @param pluginContext
+     *            Plug-in context, <i>null</i> if not available
+     * @return Source Store
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static SourceStore of(Map pluginContext) {
+        SourceStore result = null;
+
+        if (pluginContext != null) {
+            synchronized (pluginContext) {
+                result = (SourceStore) pluginContext.computeIfAbsent(PLUGIN_CONTEXT_KEY, e -> new SourceStore());
+            }
+        } else {
+            result = new SourceStore();
+        }
+
+        return result;
+    }
+
+    /** Keys of the sources by URL. */
+    private final ConcurrentMap<String, String> keys;
+
+    /** Encoded models by key. */
+    private final ConcurrentMap<String, byte[]> models;
+
+    /**
+     * Instantiates a new Source Store.
+     */
+    private SourceStore() {
+        this.keys = new ConcurrentHashMap<>();
+        this.models = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Encoded models kept for the life of the JVM, bounded by their total size.
+     */
+    private static final class WarmModels {
+
+        /** Encoded models by key, in least recently used order. */
+        private final LinkedHashMap<String, byte[]> models = new LinkedHashMap<>(16, 0.75f, true);
+
+        /** Total size in bytes of the models. */
+        private long size;
+
+        /**
+         * Returns the model having the passed key.
+         *
+         * @param key
+         *            Key of the source
+         * @return Encoded model, <i>null</i> if not present
+         */
+        private synchronized byte[] get(String key) {
+            return this.models.get(key);
+        }
+
+        /**
+         * Stores the model having the passed key, dropping the least recently used models beyond the maximum size. A model larger than the
+         * maximum size is not stored.
+         *
+         * @param key
+         *            Key of the source
+         * @param model
+         *            Encoded model
+         */
+        private synchronized void put(String key, byte[] model) {
+            remove(key);
+            if (model.length <= MAX_WARM_MODELS_SIZE) {
+                this.models.put(key, model);
+                this.size += model.length;
+                Iterator<byte[]> eldest = this.models.values().iterator();
+                while (this.size > MAX_WARM_MODELS_SIZE) {
+                    this.size -= eldest.next().length;
+                    eldest.remove();
+                }
+            }
+        }
+
+        /**
+         * Drops the model having the passed key.
+         *
+         * @param key
+         *            Key of the source
+         */
+        private synchronized void remove(String key) {
+            byte[] model = this.models.remove(key);
+            if (model != null) {
+                this.size -= model.length;
+            }
+        }
+
+    }
+
+    /**
+     * Key of a source computed during a previous build.
+     */
+    private static final class WarmKey {
+
+        /** Key. */
+        private final String key;
+
+        /** Stamps of the source and of the files it references, <i>null</i> if some of them are remote. */
+        private final FileStamps stamps;
+
+        /**
+         * Instantiates a new Warm Key.
+         *
+         * @param key
+         *            Key
+         * @param stamps
+         *            Stamps of the source and of the files it references, <i>null</i> if some of them are remote
+         */
+        private WarmKey(String key, FileStamps stamps) {
+            this.key = key;
+            this.stamps = stamps;
+        }
+
+    }
+
+    /**
+     * Returns the key of the source, computing it once per build and only if the source or one of the files it references has changed since the
+     * previous build.
+     *
+     * @param source
+     *            SWAGGER source
+     * @param httpCache
+     *            Cache used to read the source and the files it references
+     * @return Key
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected String key(URL source, HttpCache httpCache) throws IOException {
+        try {
+            return this.keys.computeIfAbsent(source.toString(), e -> {
+                try {
+                    return warmKey(source, httpCache);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the model of the source having the passed key.
+     *
+     * @param key
+     *            Key of the source
+     * @return Encoded model, <i>null</i> if the source has not been parsed yet
+     */
+    protected byte[] get(String key) {
+        return this.models.computeIfAbsent(key, WARM_MODELS::get);
+    }
+
+    /**
+     * Stores the model of the source having the passed key.
+     *
+     * @param key
+     *            Key of the source
+     * @param model
+     *            Encoded model
+     * @param warm
+     *            Whether the model is kept also for the following builds, <i>false</i> in low memory mode
+     */
+    protected void put(String key, byte[] model, boolean warm) {
+        this.models.put(key, model);
+        if (warm) {
+            WARM_MODELS.put(key, model);
+        }
+    }
+
+    /**
+     * Returns the key of the source, reusing the one of a previous build if none of the local files it has been computed from has changed. <br>
+     * The key of a source referencing remote files is always computed again, through the conditional requests of the {@link HttpCache}.
+     *
+     * @param source
+     *            SWAGGER source
+     * @param httpCache
+     *            Cache used to read the source and the files it references
+     * @return Key
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static String warmKey(URL source, HttpCache httpCache) throws IOException {
+        String result = null;
+
+        WarmKey warmKey = WARM_KEYS.get(source.toString());
+        if (warmKey != null && warmKey.stamps != null && warmKey.stamps.isUnchanged()) {
+            result = warmKey.key;
+        } else {
+            Set<String> visited = new HashSet<>();
+            result = SwaggerCache.key(source, httpCache, visited);
+            Set<URL> urls = new HashSet<>();
+            for (String url : visited) {
+                urls.add(new URL(url));
+            }
+            WARM_KEYS.put(source.toString(), new WarmKey(result, FileStamps.of(urls)));
+            if (warmKey != null && !warmKey.key.equals(result)) {
+                WARM_MODELS.remove(warmKey.key);
+            }
+        }
+
+        return result;
+    }
+
+}
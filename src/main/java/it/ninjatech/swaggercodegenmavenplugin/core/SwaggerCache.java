@@ -0,0 +1,350 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.maven.plugin.logging.Log;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.refs.GenericRef;
+import io.swagger.models.refs.RefType;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.util.DeserializationUtils;
+import io.swagger.parser.util.RefUtils;
+import io.swagger.parser.util.SwaggerDeserializer;
+import io.swagger.util.Json;
+
+/**
+ * <p>
+ * Persistent cache of the parsed and resolved {@link Swagger} models. <br>
+ * The models are stored in the Smile binary format and are keyed by the checksum of the content of the SWAGGER source and of all the files it
+ * references through <i>$ref</i>, so that a change in any of them leads to a new parsing. The keys also cover the versions of the plug-in and of
+ * the SWAGGER Parser, so that an upgrade doesn't reuse the models stored by the previous version. <br>
+ * The models are decoded through the deserializer of the SWAGGER Parser, as a parsed source, so that a decoded model is the same as the parsed
+ * one: the generic JSON mapping rebuilds the <i>allOf</i> of the composed Models differently.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class SwaggerCache {
+
+    /** Version of the format of the entries, to change when the way the models are stored changes. */
+    private static final String FORMAT_VERSION = "1";
+
+    /** Extension of the entries. */
+    private static final String ENTRY_EXTENSION = ".sml";
+
+    /** Versions the entries depend on: the format of the entries, the plug-in and the SWAGGER Parser. */
+    private static final String VERSIONS = String.join("|",
+                                                       FORMAT_VERSION,
+                                                       getVersion(SwaggerCache.class, "it.ninjatech", "swagger-codegen-maven-plugin"),
+                                                       getVersion(SwaggerParser.class, "io.swagger", "swagger-parser"));
+
+    /** Name of the reference fields. */
+    private static final String REF_FIELD = "$ref";
+
+    /** Name of the paths field. */
+    private static final String PATHS_FIELD = "paths";
+
+    /** Name of the parameters fields. */
+    private static final String PARAMETERS_FIELD = "parameters";
+
+    /** Node factory keeping the scale of the decimals, as the minimum and the maximum are rendered as they are parsed. */
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.withExactBigDecimals(true);
+
+    /** JSON mapper of the models. */
+    private static final ObjectMapper JSON_MAPPER = Json.mapper().copy().setNodeFactory(NODE_FACTORY);
+
+    /** Smile mapper. */
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory()).setNodeFactory(NODE_FACTORY);
+
+    /** The log. */
+    private final Log log;
+
+    /** Cache folder. */
+    private final File folder;
+
+    /**
+     * Instantiates a new Swagger Cache.
+     *
+     * @param log
+     *            Log
+     * @param folder
+     *            Cache folder
+     */
+    protected SwaggerCache(Log log, File folder) {
+        this.log = log;
+        this.folder = folder;
+    }
+
+    /**
+     * Returns the key of the passed source, that is the checksum of its content and of the content of all the files it references.
+     *
+     * @param source
+     *            SWAGGER source
+     * @param httpCache
+     *            Cache used to read the source and the files it references
+     * @return Key
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected static String key(URL source, HttpCache httpCache) throws IOException {
+        return key(source, httpCache, new HashSet<>());
+    }
+
+    /**
+     * Returns the key of the passed source, collecting the URL's of the source and of the files it references.
+     *
+     * @param source
+     *            SWAGGER source
+     * @param httpCache
+     *            Cache used to read the source and the files it references
+     * @param visited
+     *            Collected URL's
+     * @return Key
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected static String key(URL source, HttpCache httpCache, Set<String> visited) throws IOException {
+        StringBuilder checksums = new StringBuilder(VERSIONS);
+
+        collect(source, httpCache, visited, checksums);
+
+        return Checksum.of(checksums.toString());
+    }
+
+    /**
+     * Encodes the model in the Smile binary format.
+     *
+     * @param swagger
+     *            Model
+     * @return Encoded model
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected static byte[] encode(Swagger swagger) throws IOException {
+        return SMILE_MAPPER.writeValueAsBytes(JSON_MAPPER.valueToTree(swagger));
+    }
+
+    /**
+     * Decodes a model encoded in the Smile binary format, as the SWAGGER Parser builds it from the source. <br>
+     * The deserializer of the parser sets an empty list of parameters on the paths without them, the parsed model has none. <br>
+     * Each call returns a new instance of the model.
+     *
+     * @param model
+     *            Encoded model
+     * @return Model
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected static Swagger decode(byte[] model) throws IOException {
+        JsonNode node = SMILE_MAPPER.readTree(model);
+
+        Swagger result = new SwaggerDeserializer().deserialize(node).getSwagger();
+        if (result == null) {
+            throw new IOException("The model is not a SWAGGER model");
+        }
+        if (result.getPaths() != null) {
+            for (Entry<String, Path> path : result.getPaths().entrySet()) {
+                if (!node.path(PATHS_FIELD).path(path.getKey()).has(PARAMETERS_FIELD)) {
+                    path.getValue().setParameters(null);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the cached model of the source having the passed key.
+     *
+     * @param key
+     *            Key of the source
+     * @return Cached encoded model, <i>null</i> if it is not present or can't be read
+     */
+    protected byte[] get(String key) {
+        byte[] result = null;
+
+        File entry = new File(this.folder, key + ENTRY_EXTENSION);
+        if (entry.isFile()) {
+            try {
+                result = Files.readAllBytes(entry.toPath());
+            } catch (IOException e) {
+                this.log.warn(String.format("Unable to read the cached model %s, the source will be parsed", entry), e);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Stores the model of the source having the passed key.
+     *
+     * @param key
+     *            Key of the source
+     * @param model
+     *            Encoded model
+     */
+    protected void put(String key, byte[] model) {
+        File entry = new File(this.folder, key + ENTRY_EXTENSION);
+        try {
+            Files.createDirectories(this.folder.toPath());
+            File temporary = File.createTempFile(key, ENTRY_EXTENSION, this.folder);
+            try {
+                Files.write(temporary.toPath(), model);
+                Files.move(temporary.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary.toPath());
+            }
+        } catch (IOException e) {
+            this.log.warn(String.format("Unable to cache the model %s", entry), e);
+        }
+    }
+
+    /**
+     * Returns the version of an artifact, read from the Maven properties packaged with it.
+     *
+     * @param type
+     *            Class of the artifact
+     * @param groupId
+     *            Group ID
+     * @param artifactId
+     *            Artifact ID
+     * @return Version, empty if the artifact is not packaged
+     */
+    private static String getVersion(Class<?> type, String groupId, String artifactId) {
+        String result = "";
+
+        try (InputStream is = type.getResourceAsStream(String.format("/META-INF/maven/%s/%s/pom.properties", groupId, artifactId))) {
+            if (is != null) {
+                Properties properties = new Properties();
+                properties.load(is);
+                result = properties.getProperty("version", "");
+            }
+        } catch (IOException e) {
+            result = "";
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the checksum of the content linked by the passed URL and, recursively, of the external files it references.
+     *
+     * @param url
+     *            URL
+     * @param httpCache
+     *            Cache used to read the URL
+     * @param visited
+     *            Visited URL's
+     * @param checksums
+     *            Collected checksums
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void collect(URL url, HttpCache httpCache, Set<String> visited, StringBuilder checksums) throws IOException {
+        if (visited.add(url.toString())) {
+            String content = new String(httpCache.read(url), StandardCharsets.UTF_8);
+            checksums.append('|').append(Checksum.of(content));
+
+            for (String externalRef : getExternalRefs(url, content)) {
+                collect(new URL(url, externalRef), httpCache, visited, checksums);
+            }
+        }
+    }
+
+    /**
+     * Returns the files referenced by the passed content, as the SWAGGER Parser resolves them: only the <i>$ref</i> fields of a relative or URL
+     * format refer to external files.
+     *
+     * @param url
+     *            URL of the content
+     * @param content
+     *            Content
+     * @return Referenced files, without their fragment
+     */
+    private static Set<String> getExternalRefs(URL url, String content) {
+        Set<String> result = new LinkedHashSet<>();
+
+        JsonNode tree = null;
+        try {
+            tree = DeserializationUtils.deserializeIntoTree(content, url.toString());
+        } catch (RuntimeException e) {
+            // Neither YAML nor JSON, it can't reference other files
+            tree = null;
+        }
+        if (tree != null) {
+            collectExternalRefs(tree, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the files referenced by the <i>$ref</i> fields of the node and of its descendants.
+     *
+     * @param node
+     *            Node
+     * @param externalRefs
+     *            Collected files
+     */
+    private static void collectExternalRefs(JsonNode node, Set<String> externalRefs) {
+        JsonNode ref = node.isObject() ? node.get(REF_FIELD) : null;
+        if (ref != null && ref.isTextual() && RefUtils.isAnExternalRefFormat(new GenericRef(RefType.DEFINITION, ref.asText()).getFormat())) {
+            String file = ref.asText();
+            int index = file.indexOf('#');
+            if (index >= 0) {
+                file = file.substring(0, index);
+            }
+            if (!file.isEmpty()) {
+                externalRefs.add(file);
+            }
+        }
+        for (Iterator<JsonNode> iterator = node.elements(); iterator.hasNext();) {
+            collectExternalRefs(iterator.next(), externalRefs);
+        }
+    }
+
+}
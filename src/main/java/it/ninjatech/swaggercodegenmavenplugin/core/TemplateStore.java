@@ -0,0 +1,173 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.Reader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import io.swagger.codegen.AbstractGenerator;
+import io.swagger.codegen.CodegenConfig;
+
+/**
+ * <p>
+ * JVM wide store of the compiled Mustache templates. <br>
+ * The templates are keyed by the Codegen, the template file and the template folders, that identify the template and its partials, and by the
+ * checksum of the template content, so that each template is compiled once and reused by all the Generators of all the goals and executions. <br>
+ * The content of a template is read and hashed once per identity too: the templates on the class path can't change during the life of the
+ * plug-in class loader and the ones on the file system are identified also by their last modification time and size. <br>
+ * The partials are loaded on their first use and then kept by the compiled template. A compiled template is immutable and can be executed
+ * concurrently.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class TemplateStore {
+
+    /** Compiled templates by key. */
+    private static final ConcurrentMap<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+    /** Checksums of the template contents by template identity. */
+    private static final ConcurrentMap<String, String> CHECKSUMS = new ConcurrentHashMap<>();
+
+    /** Reader of the templates, looking them up on the class path first as the Generators do. */
+    private static final AbstractGenerator TEMPLATE_READER = new AbstractGenerator() {
+    };
+
+    /**
+     * Returns the compiled template, compiling it on its first request.
+     *
+     * @param config
+     *            Codegen configuration
+     * @param templateFile
+     *            Resolved template file
+     * @param templateReader
+     *            Reader of the template content, called only when the template identity is met for the first time
+     * @return Compiled template
+     */
+    protected static Template get(CodegenConfig config, String templateFile, Supplier<String> templateReader) {
+        File file = new File(templateFile);
+        String identity = String.join("|",
+                                      config.getClass().getName(),
+                                      templateFile,
+                                      file.isFile() ? String.format("%d:%d", file.lastModified(), file.length()) : StringUtils.EMPTY,
+                                      config.templateDir(),
+                                      config.embeddedTemplateDir(),
+                                      StringUtils.defaultString(config.getLibrary()));
+
+        String template = null;
+        String checksum = CHECKSUMS.get(identity);
+        if (checksum == null) {
+            template = templateReader.get();
+            checksum = Checksum.of(template);
+            CHECKSUMS.put(identity, checksum);
+        }
+        String content = template;
+
+        return TEMPLATES.computeIfAbsent(identity + "|" + checksum, e -> compile(config, content != null ? content : templateReader.get()));
+    }
+
+    /**
+     * Compiles a template. <br>
+     * The loader of the partials keeps only the template folders, so that the compiled template doesn't retain the Codegen and its model.
+     *
+     * @param config
+     *            Codegen configuration
+     * @param template
+     *            Template content
+     * @return Compiled template
+     */
+    private static Template compile(CodegenConfig config, String template) {
+        String templateDir = config.templateDir();
+        String embeddedTemplateDir = config.embeddedTemplateDir();
+        String library = config.getLibrary();
+
+        return config.processCompiler(Mustache.compiler())
+                     .withLoader(name -> getTemplateReader(templateDir, embeddedTemplateDir, library, name + ".mustache"))
+                     .defaultValue("")
+                     .compile(template);
+    }
+
+    /**
+     * Returns the reader of a partial, resolving it as {@link AbstractGenerator#getFullTemplateFile(CodegenConfig, String)} does.
+     *
+     * @param templateDir
+     *            Template folder
+     * @param embeddedTemplateDir
+     *            Embedded template folder
+     * @param library
+     *            Library
+     * @param templateFile
+     *            Template file
+     * @return Reader
+     */
+    private static Reader getTemplateReader(String templateDir, String embeddedTemplateDir, String library, String templateFile) {
+        String result = null;
+
+        String libraryTemplateFile = StringUtils.isNotEmpty(library) ? getLibraryTemplateFile(templateDir, library, templateFile) : null;
+        String embeddedLibraryTemplateFile = StringUtils.isNotEmpty(library) ? getLibraryTemplateFile(embeddedTemplateDir, library, templateFile) : null;
+        if (libraryTemplateFile != null && new File(libraryTemplateFile).exists()) {
+            result = libraryTemplateFile;
+        } else if (new File(templateDir + File.separator + templateFile).exists()) {
+            result = templateDir + File.separator + templateFile;
+        } else if (embeddedLibraryTemplateFile != null && TEMPLATE_READER.embeddedTemplateExists(embeddedLibraryTemplateFile)) {
+            result = embeddedLibraryTemplateFile;
+        } else {
+            result = embeddedTemplateDir + File.separator + templateFile;
+        }
+
+        return TEMPLATE_READER.getTemplateReader(result);
+    }
+
+    /**
+     * Returns the path of a template of a library.
+     *
+     * @param templateDir
+     *            Template folder
+     * @param library
+     *            Library
+     * @param templateFile
+     *            Template file
+     * @return Path of the template
+     */
+    private static String getLibraryTemplateFile(String templateDir, String library, String templateFile) {
+        return templateDir + File.separator + "libraries" + File.separator + library + File.separator + templateFile;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private TemplateStore() {
+    }
+
+}
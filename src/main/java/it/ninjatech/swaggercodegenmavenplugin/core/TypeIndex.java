@@ -0,0 +1,237 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * <p>
+ * Index of the classes of a jar, grouped by package. <br>
+ * It is written by the <strong>index-types</strong> goal in the jars containing the Model classes and is read by the {@link ClassScanner}
+ * instead of the jar entries, so that scanning a package of an indexed jar doesn't walk the whole jar.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class TypeIndex {
+
+    /** Path of the index resource. */
+    public static final String RESOURCE = "META-INF/swagger-codegen-maven-plugin/type-index.properties";
+
+    /** Extension of the class files. */
+    private static final String CLASS_EXTENSION = ".class";
+
+    /** Separator of the classes of a package. */
+    private static final String CLASS_SEPARATOR = ",";
+
+    /**
+     * Builds the index of the classes of a folder.
+     *
+     * @param folder
+     *            Classes folder
+     * @return Index
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static TypeIndex build(File folder) throws IOException {
+        TypeIndex result = new TypeIndex();
+
+        if (folder.isDirectory()) {
+            Path root = folder.toPath();
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.filter(e -> e.toString().endsWith(CLASS_EXTENSION) && Files.isRegularFile(e)).forEach(e -> {
+                    String path = root.relativize(e).toString().replace(File.separatorChar, '/');
+                    int index = path.lastIndexOf('/');
+                    String package_ = index < 0 ? StringUtils.EMPTY : path.substring(0, index).replace('/', '.');
+                    String name = path.substring(index + 1, path.length() - CLASS_EXTENSION.length());
+                    result.classes.computeIfAbsent(package_, p -> new TreeSet<>()).add(name);
+                });
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Loads an index.
+     *
+     * @param url
+     *            URL of the index resource
+     * @return Index
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static TypeIndex load(URL url) throws IOException {
+        TypeIndex result = new TypeIndex();
+
+        Properties properties = new Properties();
+        try (InputStream is = url.openStream()) {
+            properties.load(is);
+        }
+        for (String package_ : properties.stringPropertyNames()) {
+            Set<String> names = new TreeSet<>();
+            for (String name : StringUtils.split(properties.getProperty(package_), CLASS_SEPARATOR)) {
+                names.add(name.trim());
+            }
+            result.classes.put(package_, names);
+        }
+
+        return result;
+    }
+
+    /**
+     * Locates the indexes available on a class loader.
+     *
+     * @param classLoader
+     *            Class loader
+     * @return URL's of the index resources by the URL of the jar containing them
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static Map<String, URL> locate(ClassLoader classLoader) throws IOException {
+        Map<String, URL> result = new HashMap<>();
+
+        for (URL index : Collections.list(classLoader.getResources(RESOURCE))) {
+            if ("jar".equals(index.getProtocol())) {
+                result.put(((JarURLConnection) index.openConnection()).getJarFileURL().toString(), index);
+            }
+        }
+
+        return result;
+    }
+
+    /** Simple binary names of the classes by package. */
+    private final Map<String, Set<String>> classes;
+
+    /**
+     * Instantiates a new empty Type Index.
+     */
+    private TypeIndex() {
+        this.classes = new TreeMap<>();
+    }
+
+    /**
+     * Returns the number of the indexed packages.
+     *
+     * @return Number of packages
+     */
+    public int getPackages() {
+        return this.classes.size();
+    }
+
+    /**
+     * Returns the number of the indexed classes.
+     *
+     * @return Number of classes
+     */
+    public int getClasses() {
+        return this.classes.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Returns the paths of the class files, as the names of the entries of the indexed jar.
+     *
+     * @return Paths of the class files
+     */
+    public List<String> getEntries() {
+        List<String> result = new ArrayList<>();
+
+        for (Entry<String, Set<String>> packageClasses : this.classes.entrySet()) {
+            String path = packageClasses.getKey().isEmpty() ? StringUtils.EMPTY : packageClasses.getKey().replace('.', '/') + "/";
+            for (String name : packageClasses.getValue()) {
+                result.add(path + name + CLASS_EXTENSION);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Stores the index in the resource of a classes folder. <br>
+     * The packages and the classes are sorted and no timestamp is written, so that the same classes always give the same index.
+     *
+     * @param folder
+     *            Classes folder
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public void store(File folder) throws IOException {
+        File file = new File(folder, RESOURCE);
+        Files.createDirectories(file.getParentFile().toPath());
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.ISO_8859_1)) {
+            writer.write("# Classes by package, written by the index-types goal of the swagger-codegen-maven-plugin\n");
+            for (Entry<String, Set<String>> packageClasses : this.classes.entrySet()) {
+                writer.write(escape(packageClasses.getKey()));
+                writer.write('=');
+                writer.write(escape(String.join(CLASS_SEPARATOR, packageClasses.getValue())));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Escapes the characters that can't be written in a properties file as they are.
+     *
+     * @param value
+     *            Value
+     * @return Escaped value
+     */
+    private static String escape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+
+        for (char c : value.toCharArray()) {
+            if (c < 0x20 || c > 0x7e) {
+                result.append(String.format("\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,402 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.logging.Log;
+import org.springframework.util.ClassUtils;
+import org.yaml.snakeyaml.Yaml;
+
+import it.ninjatech.swaggercodegenmavenplugin.configuration.DataTypeMapping;
+
+/**
+ * <p>
+ * Persistent cache of the Data Type Mapping resolved by the {@link DataTypeMappingHandler}. <br>
+ * The resolved mappings are keyed by the checksum of the {@link DataTypeMapping} configuration, of the External Resources it refers and of the
+ * {@link FileStamps stamps} of the jars and of the class files of the folders containing the packages to scan, so that the packages are scanned
+ * again only when one of them changes, without reading the jars and the class files.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class TypeMappingCache {
+
+    /** Version of the format of the entries, to change when the way the mappings are stored changes. */
+    private static final String FORMAT_VERSION = "1";
+
+    /** Extension of the entries. */
+    private static final String ENTRY_EXTENSION = ".properties";
+
+    /** The Constant RECURSIVE_PATTERN. */
+    private static final String RECURSIVE_PATTERN = ".**";
+
+    /** Extension of the class files. */
+    private static final String CLASS_EXTENSION = ".class";
+
+    /** The log. */
+    private final Log log;
+
+    /** Cache folder. */
+    private final File folder;
+
+    /** Cache used to read the External Resources. */
+    private final HttpCache httpCache;
+
+    /**
+     * Instantiates a new Type Mapping Cache.
+     *
+     * @param log
+     *            Log
+     * @param folder
+     *            Cache folder
+     * @param httpCache
+     *            Cache used to read the External Resources
+     */
+    protected TypeMappingCache(Log log, File folder, HttpCache httpCache) {
+        this.log = log;
+        this.folder = folder;
+        this.httpCache = httpCache;
+    }
+
+    /**
+     * Resolves the {@link DataTypeMapping} configuration, loading it from the cache when nothing it depends on has changed.
+     *
+     * @param dataTypeMapping
+     *            Data type mapping
+     * @return the Resolved Map
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected Map<String, TypeData> resolve(DataTypeMapping dataTypeMapping) throws IOException {
+        Map<String, TypeData> result = null;
+
+        String key = dataTypeMapping != null ? key(dataTypeMapping, this.httpCache) : null;
+        if (key != null) {
+            result = get(key);
+            if (result != null) {
+                this.log.info("Using the cached Data Type Mapping");
+            } else {
+                result = DataTypeMappingHandler.handle(this.log, dataTypeMapping, this.httpCache);
+                put(key, result);
+            }
+        } else {
+            result = DataTypeMappingHandler.handle(this.log, dataTypeMapping, this.httpCache);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the stamps of the files the resolution of the passed configuration depends on: the External Resources and the jars and the folders
+     * containing the packages to scan, with their sub folders and class files.
+     *
+     * @param dataTypeMapping
+     *            Data type mapping, <i>null</i> if not configured
+     * @param httpCache
+     *            Cache used to read the External Resources
+     * @return Stamps, <i>null</i> if some of the files are not local, so that their changes can't be detected
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    protected static FileStamps stamps(DataTypeMapping dataTypeMapping, HttpCache httpCache) throws IOException {
+        Set<URL> files = new HashSet<>();
+
+        if (dataTypeMapping != null) {
+            collectFiles(dataTypeMapping, httpCache, new HashSet<>(), files);
+        }
+
+        return FileStamps.of(files);
+    }
+
+    /**
+     * Returns the key of the passed configuration.
+     *
+     * @param dataTypeMapping
+     *            Data type mapping
+     * @param httpCache
+     *            Cache used to read the External Resources
+     * @return Key, <i>null</i> if one of the packages to scan is not inside a jar or a folder, so that the configuration can't be cached
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static String key(DataTypeMapping dataTypeMapping, HttpCache httpCache) throws IOException {
+        String result = null;
+
+        StringBuilder content = new StringBuilder(FORMAT_VERSION);
+        if (collect(dataTypeMapping, httpCache, new HashSet<>(), content)) {
+            result = Checksum.of(content.toString());
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the content of the configuration, the checksums of the External Resources and, recursively, of the configurations they contain.
+     *
+     * @param dataTypeMapping
+     *            Data type mapping
+     * @param httpCache
+     *            Cache used to read the External Resources
+     * @param visited
+     *            Visited External Resources
+     * @param content
+     *            Collected content
+     * @return true, if the configuration can be cached
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static boolean collect(DataTypeMapping dataTypeMapping,
+                                   HttpCache httpCache,
+                                   Set<String> visited,
+                                   StringBuilder content) throws IOException {
+        boolean result = true;
+
+        new TreeMap<>(dataTypeMapping.getDirectMap()).forEach((alias, type) -> content.append("\nalias|").append(alias).append('|').append(type));
+        for (String package_ : new TreeSet<>(dataTypeMapping.getPackages())) {
+            content.append("\npackage|").append(package_);
+            result &= collect(package_, content);
+        }
+        for (String externalResource : dataTypeMapping.getExternalResources().stream().map(URL::toString).collect(Collectors.toCollection(TreeSet::new))) {
+            if (visited.add(externalResource)) {
+                URL url = new URL(externalResource);
+                byte[] resource = httpCache.read(url);
+                content.append("\nresource|").append(externalResource).append('|').append(Checksum.of(resource));
+                DataTypeMapping externalDataTypeMapping = null;
+                try (InputStream is = new ByteArrayInputStream(resource)) {
+                    externalDataTypeMapping = new Yaml().loadAs(is, DataTypeMapping.class);
+                }
+                if (externalDataTypeMapping != null) {
+                    result &= collect(externalDataTypeMapping, httpCache, visited, content);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the stamps of the jars and of the class files of the folders containing the passed package, looking it up on the same class loader
+     * used for the scanning.
+     *
+     * @param package_
+     *            Package to scan
+     * @param content
+     *            Collected content
+     * @return true, if all the locations of the package are jars or folders
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static boolean collect(String package_, StringBuilder content) throws IOException {
+        boolean result = true;
+
+        boolean recursive = package_.endsWith(RECURSIVE_PATTERN);
+        String basePackage = recursive ? package_.substring(0, package_.length() - RECURSIVE_PATTERN.length()) : package_;
+        Enumeration<URL> locations = ClassUtils.getDefaultClassLoader().getResources(ClassUtils.convertClassNameToResourcePath(basePackage) + "/");
+        while (result && locations.hasMoreElements()) {
+            URL location = locations.nextElement();
+            if ("jar".equals(location.getProtocol())) {
+                URL jar = ((JarURLConnection) location.openConnection()).getJarFileURL();
+                File file = null;
+                try {
+                    file = Paths.get(jar.toURI()).toFile();
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+                content.append("\njar|").append(file.getAbsolutePath()).append('|').append(FileStamps.stamp(file));
+            } else if ("file".equals(location.getProtocol())) {
+                Path folder = null;
+                try {
+                    folder = Paths.get(location.toURI());
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+                List<Path> classFiles = null;
+                try (Stream<Path> paths = Files.walk(folder, recursive ? Integer.MAX_VALUE : 1)) {
+                    classFiles = paths.filter(path -> path.toString().endsWith(CLASS_EXTENSION)).sorted().collect(Collectors.toList());
+                }
+                content.append("\nfolder|").append(folder);
+                for (Path classFile : classFiles) {
+                    content.append("\nclass|").append(folder.relativize(classFile)).append('|').append(FileStamps.stamp(classFile.toFile()));
+                }
+            } else {
+                result = false;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects the External Resources of the configuration and, recursively, the files the configurations they contain depend on.
+     *
+     * @param dataTypeMapping
+     *            Data type mapping
+     * @param httpCache
+     *            Cache used to read the External Resources
+     * @param visited
+     *            Visited External Resources
+     * @param files
+     *            Collected files
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void collectFiles(DataTypeMapping dataTypeMapping, HttpCache httpCache, Set<String> visited, Set<URL> files) throws IOException {
+        for (String package_ : dataTypeMapping.getPackages()) {
+            collectFiles(package_, files);
+        }
+        for (URL externalResource : dataTypeMapping.getExternalResources()) {
+            if (visited.add(externalResource.toString())) {
+                files.add(externalResource);
+                DataTypeMapping externalDataTypeMapping = null;
+                try (InputStream is = new ByteArrayInputStream(httpCache.read(externalResource))) {
+                    externalDataTypeMapping = new Yaml().loadAs(is, DataTypeMapping.class);
+                }
+                if (externalDataTypeMapping != null) {
+                    collectFiles(externalDataTypeMapping, httpCache, visited, files);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the jars and the folders containing the passed package, with the sub folders and the class files of the folders, looking it up on the
+     * same class loader used for the scanning.
+     *
+     * @param package_
+     *            Package to scan
+     * @param files
+     *            Collected files
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static void collectFiles(String package_, Set<URL> files) throws IOException {
+        boolean recursive = package_.endsWith(RECURSIVE_PATTERN);
+        String basePackage = recursive ? package_.substring(0, package_.length() - RECURSIVE_PATTERN.length()) : package_;
+        Enumeration<URL> locations = ClassUtils.getDefaultClassLoader().getResources(ClassUtils.convertClassNameToResourcePath(basePackage) + "/");
+        while (locations.hasMoreElements()) {
+            URL location = locations.nextElement();
+            if ("jar".equals(location.getProtocol())) {
+                files.add(((JarURLConnection) location.openConnection()).getJarFileURL());
+            } else if ("file".equals(location.getProtocol())) {
+                Path folder = null;
+                try {
+                    folder = Paths.get(location.toURI());
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+                List<Path> paths = null;
+                try (Stream<Path> walk = Files.walk(folder, recursive ? Integer.MAX_VALUE : 1)) {
+                    paths = walk.filter(path -> Files.isDirectory(path) || path.toString().endsWith(CLASS_EXTENSION)).collect(Collectors.toList());
+                }
+                for (Path path : paths) {
+                    files.add(path.toUri().toURL());
+                }
+            } else {
+                files.add(location);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached Data Type Mapping having the passed key.
+     *
+     * @param key
+     *            Key of the configuration
+     * @return Cached Data Type Mapping, <i>null</i> if it is not present or can't be read
+     */
+    private Map<String, TypeData> get(String key) {
+        Map<String, TypeData> result = null;
+
+        File entry = new File(this.folder, key + ENTRY_EXTENSION);
+        if (entry.isFile()) {
+            Properties properties = new Properties();
+            try (InputStream is = Files.newInputStream(entry.toPath())) {
+                properties.load(is);
+                result = new HashMap<>();
+                for (String alias : properties.stringPropertyNames()) {
+                    result.put(alias, DataTypeMappingHandler.getTypeData(properties.getProperty(alias)));
+                }
+            } catch (IOException e) {
+                this.log.warn(String.format("Unable to read the cached Data Type Mapping %s, the packages will be scanned", entry), e);
+                result = null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Stores the Data Type Mapping having the passed key.
+     *
+     * @param key
+     *            Key of the configuration
+     * @param typeMapping
+     *            the Resolved Map
+     */
+    private void put(String key, Map<String, TypeData> typeMapping) {
+        File entry = new File(this.folder, key + ENTRY_EXTENSION);
+        try {
+            Files.createDirectories(this.folder.toPath());
+            File temporary = File.createTempFile(key, ENTRY_EXTENSION, this.folder);
+            try {
+                Properties properties = new Properties();
+                typeMapping.forEach((alias, typeData) -> properties.setProperty(alias, typeData.getFullyQualifiedName()));
+                try (OutputStream os = Files.newOutputStream(temporary.toPath())) {
+                    properties.store(os, null);
+                }
+                Files.move(temporary.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary.toPath());
+            }
+        } catch (IOException e) {
+            this.log.warn(String.format("Unable to cache the Data Type Mapping %s", entry), e);
+        }
+    }
+
+}
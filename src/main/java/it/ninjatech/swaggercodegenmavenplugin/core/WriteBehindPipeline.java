@@ -0,0 +1,138 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import it.ninjatech.swaggercodegenmavenplugin.core.OutputFileRegistry.FileWriter;
+
+/**
+ * <p>
+ * Write-behind pipeline of the generated files. <br>
+ * The Generators hand the rendered files to a bounded queue, drained by dedicated I/O threads, and go on rendering the next file. When the queue is
+ * full the Generators wait, so that the rendered contents waiting to be written never exceed the queue capacity. <br>
+ * The writes of a Generator are awaited, and their errors raised, by {@link Generator#flush()}.
+ * </p>
+ *
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+public final class WriteBehindPipeline implements AutoCloseable {
+
+    /** Files queued for each I/O thread. */
+    private static final int QUEUE_SIZE_PER_THREAD = 16;
+
+    /** Maximum wait, in seconds, for the queued writes on closing. */
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    /** I/O threads. */
+    private final ExecutorService executor;
+
+    /** Free slots of the queue. */
+    private final Semaphore slots;
+
+    /**
+     * Instantiates a new Write Behind Pipeline.
+     *
+     * @param threads
+     *            Number of I/O threads
+     */
+    public WriteBehindPipeline(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread result = new Thread(runnable, String.format("swagger-codegen-writer-%d", count.incrementAndGet()));
+            result.setDaemon(true);
+            return result;
+        });
+        this.slots = new Semaphore(threads * QUEUE_SIZE_PER_THREAD);
+    }
+
+    /**
+     * Queues the write of a file, waiting for a free slot if the queue is full.
+     *
+     * @param writer
+     *            Writer of the file
+     * @return Completion of the write
+     * @throws IOException
+     *             If the thread has been interrupted while waiting for a free slot
+     */
+    protected CompletableFuture<Void> submit(FileWriter writer) throws IOException {
+        CompletableFuture<Void> result = null;
+
+        try {
+            this.slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to queue a generated file");
+        }
+
+        try {
+            result = CompletableFuture.runAsync(() -> {
+                try {
+                    writer.write();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    this.slots.release();
+                }
+            }, this.executor);
+        } catch (RuntimeException e) {
+            this.slots.release();
+            throw e;
+        }
+
+        return result;
+    }
+
+    /**
+     * Waits for the queued writes, up to {@link #CLOSE_TIMEOUT_SECONDS} seconds, and stops the I/O threads.
+     *
+     * @throws IOException
+     *             If the queued writes have not completed in time or the current thread has been interrupted while waiting
+     */
+    @Override
+    public void close() throws IOException {
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                this.executor.shutdownNow();
+                throw new IOException(String.format("The queued generated files have not been written within %d seconds", CLOSE_TIMEOUT_SECONDS));
+            }
+        } catch (InterruptedException e) {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the queued generated files to be written");
+        }
+    }
+
+}
@@ -24,8 +24,21 @@ SOFTWARE.
 package it.ninjatech.swaggercodegenmavenplugin.mojo;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -40,20 +53,33 @@ import it.ninjatech.swaggercodegenmavenplugin.configuration.Configuration;
 import it.ninjatech.swaggercodegenmavenplugin.configuration.DataTypeMapping;
 import it.ninjatech.swaggercodegenmavenplugin.configuration.DateLibrary;
 import it.ninjatech.swaggercodegenmavenplugin.core.Codegen;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport.Counter;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport.Measure;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport.Phase;
+import it.ninjatech.swaggercodegenmavenplugin.core.ExecutionReport.Section;
+import it.ninjatech.swaggercodegenmavenplugin.core.GenerationManifest;
+import it.ninjatech.swaggercodegenmavenplugin.core.Generator;
 import it.ninjatech.swaggercodegenmavenplugin.core.GeneratorFactory;
+import it.ninjatech.swaggercodegenmavenplugin.core.OutputFileRegistry;
+import it.ninjatech.swaggercodegenmavenplugin.core.SourceStore;
+import it.ninjatech.swaggercodegenmavenplugin.core.WriteBehindPipeline;
 
 /**
  * <p>
- * Abstract Maven MOJO for {@link GenerateApiMojo} and
- * {@link GenerateModelMojo}.
+ * Abstract Maven MOJO for {@link GenerateApiMojo}, {@link GenerateModelMojo} and
+ * {@link GenerateMojo}.
  * </p>
  * 
  * @author Vincenzo Mazzeo
- * @version 2.0
+ * @version 3.0
  * @since 1.0.0
  */
 public abstract class AbstractGenerateMojo extends AbstractMojo {
 
+    /** Maximum number of threads generating the source files and their shards at once. */
+    private static final int MAX_GENERATION_THREADS = 64;
+
     @Component
     private BuildContext buildContext = new DefaultBuildContext();
 
@@ -113,6 +139,58 @@ public abstract class AbstractGenerateMojo extends AbstractMojo {
     @Parameter(required = false)
     private String modelNameSuffix;
 
+    /** Write only the files whose content has changed */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean writeChangedFilesOnly;
+
+    /** Enable Cache */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean enableCache;
+
+    /** Cache folder */
+    @Parameter(required = true, defaultValue = "${project.build.directory}/swagger-codegen-maven-plugin/cache")
+    private File cacheFolder;
+
+    /** Work offline, reading the remote URL's from the cache only */
+    @Parameter(required = true, defaultValue = "${settings.offline}")
+    private boolean offline;
+
+    /** Number of source files to generate concurrently */
+    @Parameter(required = true, defaultValue = "1")
+    private int parallelism;
+
+    /** Number of threads writing the generated files in background, 0 to write them while rendering */
+    @Parameter(required = true, defaultValue = "0")
+    private int writerThreads;
+
+    /** Processes and renders the Models and the API's a group at a time, releasing them once rendered */
+    @Parameter(required = true, defaultValue = "false")
+    private boolean lowMemory;
+
+    /** Number of shards each source file is split into and generated concurrently */
+    @Parameter(required = true, defaultValue = "1")
+    private int shards;
+
+    /** Skips the source files unchanged since the last build */
+    @Parameter(required = true, defaultValue = "true")
+    private boolean skipUnchanged;
+
+    /** Build directory */
+    @Parameter(defaultValue = "${project.build.directory}", readonly = true)
+    private File buildDirectory;
+
+    /** Plug-in version */
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
+    /** Goal */
+    @Parameter(defaultValue = "${mojoExecution.mojoDescriptor.goal}", readonly = true)
+    private String goal;
+
+    /** Execution ID */
+    @Parameter(defaultValue = "${mojoExecution.executionId}", readonly = true)
+    private String executionId;
+
     /**
      * Permits to the descending MOJO classes to apply custom settings to the Default Generator after the common setup.
      *
@@ -128,31 +206,429 @@ public abstract class AbstractGenerateMojo extends AbstractMojo {
      */
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        validate();
         try {
+            ExecutionReport report = new ExecutionReport(this.executionId, this.goal);
+            Measure measure = ExecutionReport.start();
             GeneratorFactory generatorFactory = GeneratorFactory.getInstance(getLog(), getConfiguration());
+            report.add(Phase.TYPE_MAPPING, measure);
+            GenerationManifest manifest = this.skipUnchanged ? GenerationManifest.load(getManifestFile()) : null;
+            SourceStore sourceStore = SourceStore.of(getPluginContext());
+            if (manifest != null && this.parallelism > 1 && this.sourceFiles.size() > 1) {
+                readConcurrently(generatorFactory, sourceStore, report);
+            }
 
-            Boolean refresh = false;
-            for (URL sourceFile : this.sourceFiles) {
+            // Fingerprints of the changed source files by index, the index is the order of the source file in the configuration
+            Map<Integer, String> changedSourceFiles = new TreeMap<>();
+            Map<Integer, String> upToDateSourceFiles = new TreeMap<>();
+            for (int i = 0; i < this.sourceFiles.size(); i++) {
+                URL sourceFile = this.sourceFiles.get(i);
                 if (this.buildContext.hasDelta(sourceFile.getFile())) {
-                    getLog().info(String.format("Processing %s", sourceFile.toString()));
+                    String fingerprint = manifest != null
+                            ? GenerationManifest.fingerprint(getSourceKey(generatorFactory, sourceFile, sourceStore, report), getGeneratorFingerprint(generatorFactory))
+                            : null;
+                    if (manifest != null && manifest.isUpToDate(sourceFile, fingerprint)) {
+                        upToDateSourceFiles.put(i, fingerprint);
+                    } else {
+                        changedSourceFiles.put(i, fingerprint);
+                    }
+                }
+            }
+            if (manifest != null && !changedSourceFiles.isEmpty()) {
+                addOverlappingSourceFiles(manifest, changedSourceFiles, upToDateSourceFiles);
+            }
+            for (Integer upToDateSourceFile : upToDateSourceFiles.keySet()) {
+                getLog().info(String.format("Skipping %s, up to date", this.sourceFiles.get(upToDateSourceFile).toString()));
+            }
 
-                    DefaultGenerator defaultGenerator = generatorFactory.make(sourceFile);
+            if (!changedSourceFiles.isEmpty()) {
+                WriteBehindPipeline writeBehindPipeline = this.writerThreads > 0 ? new WriteBehindPipeline(this.writerThreads) : null;
+                try {
+                    if (this.parallelism > 1 && changedSourceFiles.size() > 1) {
+                        generateConcurrently(generatorFactory, changedSourceFiles, manifest, writeBehindPipeline, report);
+                    } else {
+                        for (Entry<Integer, String> changedSourceFile : changedSourceFiles.entrySet()) {
+                            generate(generatorFactory,
+                                     changedSourceFile.getKey(),
+                                     changedSourceFile.getValue(),
+                                     manifest,
+                                     null,
+                                     writeBehindPipeline,
+                                     report);
+                        }
+                    }
+                } finally {
+                    if (writeBehindPipeline != null) {
+                        writeBehindPipeline.close();
+                    }
+                    if (manifest != null) {
+                        manifest.store();
+                    }
+                }
+                this.buildContext.refresh(this.outputFolder);
+            }
 
-                    postDefaultGeneratorSetup(defaultGenerator);
+            report.stop();
+            report.store(getReportFile());
+            report.getSummary().forEach(getLog()::info);
+        } catch (ExecutionException e) {
+            throw new MojoFailureException("Failure", e.getCause());
+        } catch (Exception e) {
+            throw new MojoFailureException("Failure", e);
+        }
+    }
 
-                    defaultGenerator.generate();
+    /**
+     * Validates the parameters setting the threads of the execution. <br>
+     * Each of the {@link #parallelism} source files generated concurrently runs a thread for each of its {@link #shards}, so their product is the
+     * number of threads generating at once and can't exceed {@link #MAX_GENERATION_THREADS}.
+     *
+     * @throws MojoExecutionException
+     *             If a parameter is not valid
+     */
+    private void validate() throws MojoExecutionException {
+        if (this.parallelism < 1) {
+            throw new MojoExecutionException(String.format("parallelism must be at least 1, it is %d", this.parallelism));
+        }
+        if (this.shards < 1) {
+            throw new MojoExecutionException(String.format("shards must be at least 1, it is %d", this.shards));
+        }
+        if (this.writerThreads < 0) {
+            throw new MojoExecutionException(String.format("writerThreads can't be negative, it is %d", this.writerThreads));
+        }
+        long generationThreads = (long) Math.min(this.parallelism, this.sourceFiles.size()) * this.shards;
+        if (generationThreads > MAX_GENERATION_THREADS) {
+            throw new MojoExecutionException(String.format("parallelism and shards run %d generation threads, more than %d",
+                                                           generationThreads,
+                                                           MAX_GENERATION_THREADS));
+        }
+        if (generationThreads > Runtime.getRuntime().availableProcessors()) {
+            getLog().warn(String.format("parallelism and shards run %d generation threads on %d processors",
+                                        generationThreads,
+                                        Runtime.getRuntime().availableProcessors()));
+        }
+    }
 
-                    refresh = true;
+    /**
+     * Reads the source files and the files they reference concurrently on a pool of {@link #parallelism} threads, so that the remote ones are
+     * downloaded in parallel before computing their fingerprints.
+     *
+     * @param generatorFactory
+     *            Generator Factory
+     * @param sourceStore
+     *            Build scoped store of the parsed sources
+     * @param report
+     *            Report of the execution
+     * @throws InterruptedException
+     *             If the current thread has been interrupted while waiting
+     * @throws ExecutionException
+     *             If the reading of a source file has failed
+     */
+    private void readConcurrently(GeneratorFactory generatorFactory, SourceStore sourceStore, ExecutionReport report)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, this.sourceFiles.size()));
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (URL sourceFile : this.sourceFiles) {
+                if (this.buildContext.hasDelta(sourceFile.getFile())) {
+                    results.add(executor.submit(() -> getSourceKey(generatorFactory, sourceFile, sourceStore, report)));
                 }
             }
-            if (refresh) {
-                this.buildContext.refresh(this.outputFolder);
+            for (Future<?> result : results) {
+                result.get();
             }
-        } catch (Exception e) {
-            throw new MojoFailureException("Failure", e);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
+    /**
+     * Generates the source files concurrently on a pool of {@link #parallelism} threads. <br>
+     * Each source file is elaborated by its own Generator; the files produced by more than one source are written as in a sequential run.
+     *
+     * @param generatorFactory
+     *            Generator Factory
+     * @param sourceFiles
+     *            Fingerprints of the source files to generate by index
+     * @param manifest
+     *            Generation Manifest, <i>null</i> if the unchanged source files are not skipped
+     * @param writeBehindPipeline
+     *            Pipeline writing the files in background, <i>null</i> if the files are written while rendering
+     * @param report
+     *            Report of the execution
+     * @throws InterruptedException
+     *             If the current thread has been interrupted while waiting
+     * @throws ExecutionException
+     *             If the generation of a source file has failed
+     */
+    private void generateConcurrently(GeneratorFactory generatorFactory,
+                                      Map<Integer, String> sourceFiles,
+                                      GenerationManifest manifest,
+                                      WriteBehindPipeline writeBehindPipeline,
+                                      ExecutionReport report) throws InterruptedException, ExecutionException {
+        OutputFileRegistry outputFileRegistry = new OutputFileRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, sourceFiles.size()));
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (Entry<Integer, String> sourceFile : sourceFiles.entrySet()) {
+                results.add(executor.submit(() -> {
+                    generate(generatorFactory,
+                             sourceFile.getKey(),
+                             sourceFile.getValue(),
+                             manifest,
+                             outputFileRegistry,
+                             writeBehindPipeline,
+                             report);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates a single source file.
+     *
+     * @param generatorFactory
+     *            Generator Factory
+     * @param sourceFileIndex
+     *            Index of the source file to generate
+     * @param fingerprint
+     *            Fingerprint of the source file
+     * @param manifest
+     *            Generation Manifest, <i>null</i> if the unchanged source files are not skipped
+     * @param outputFileRegistry
+     *            Registry shared with the concurrent Generators, <i>null</i> if the source files are generated sequentially
+     * @param writeBehindPipeline
+     *            Pipeline writing the files in background, <i>null</i> if the files are written while rendering
+     * @param report
+     *            Report of the execution
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     * @throws InterruptedException
+     *             If the current thread has been interrupted while waiting for the shards
+     * @throws ExecutionException
+     *             If the generation of a shard has failed
+     */
+    private void generate(GeneratorFactory generatorFactory,
+                          int sourceFileIndex,
+                          String fingerprint,
+                          GenerationManifest manifest,
+                          OutputFileRegistry outputFileRegistry,
+                          WriteBehindPipeline writeBehindPipeline,
+                          ExecutionReport report) throws IOException, InterruptedException, ExecutionException {
+        URL sourceFile = this.sourceFiles.get(sourceFileIndex);
+        getLog().info(String.format("Processing %s", sourceFile.toString()));
+
+        SourceStore sourceStore = SourceStore.of(getPluginContext());
+        Section section = report.getSource(sourceFile);
+        getSourceKey(generatorFactory, sourceFile, sourceStore, report);
+
+        List<Generator> generators = Collections.synchronizedList(new ArrayList<>());
+        List<File> files = new ArrayList<>();
+        if (this.shards > 1) {
+            // The first shard parses the source, the others take the parsed model from the store
+            Generator firstGenerator = make(generatorFactory, sourceFileIndex, sourceStore, 0, outputFileRegistry, writeBehindPipeline, section);
+            ExecutorService executor = Executors.newFixedThreadPool(this.shards);
+            try {
+                List<Future<List<File>>> results = new ArrayList<>();
+                for (int i = 0; i < this.shards; i++) {
+                    int shard = i;
+                    results.add(executor.submit(() -> {
+                        Generator generator = shard == 0
+                                ? firstGenerator
+                                : make(generatorFactory, sourceFileIndex, sourceStore, shard, outputFileRegistry, writeBehindPipeline, section);
+                        generators.add(generator);
+                        return generate(generator, section);
+                    }));
+                }
+                for (Future<List<File>> result : results) {
+                    files.addAll(result.get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        } else {
+            Generator generator = make(generatorFactory, sourceFileIndex, sourceStore, 0, outputFileRegistry, writeBehindPipeline, section);
+            generators.add(generator);
+            files.addAll(generate(generator, section));
+        }
+        getLog().info(String.format("Processed %s: %d files written, %d files unchanged",
+                                    sourceFile.toString(),
+                                    generators.stream().mapToInt(Generator::getWrittenFiles).sum(),
+                                    generators.stream().mapToInt(Generator::getUnchangedFiles).sum()));
+
+        if (manifest != null) {
+            manifest.update(sourceFile, fingerprint, files);
+        }
+    }
+
+    /**
+     * Makes the Generator of a shard of a source file.
+     *
+     * @param generatorFactory
+     *            Generator Factory
+     * @param sourceFileIndex
+     *            Index of the source file to generate
+     * @param sourceStore
+     *            Build scoped store of the parsed sources
+     * @param shard
+     *            Shard of the source file
+     * @param outputFileRegistry
+     *            Registry shared with the concurrent Generators, <i>null</i> if the source files are generated sequentially
+     * @param writeBehindPipeline
+     *            Pipeline writing the files in background, <i>null</i> if the files are written while rendering
+     * @param section
+     *            Section of the report of the source file
+     * @return Generator
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private Generator make(GeneratorFactory generatorFactory,
+                           int sourceFileIndex,
+                           SourceStore sourceStore,
+                           int shard,
+                           OutputFileRegistry outputFileRegistry,
+                           WriteBehindPipeline writeBehindPipeline,
+                           Section section) throws IOException {
+        Measure measure = ExecutionReport.start();
+        Generator result = generatorFactory.make(this.sourceFiles.get(sourceFileIndex), sourceStore);
+        section.add(Phase.PARSE, measure);
+        result.setReport(section);
+        if (outputFileRegistry != null) {
+            result.setOutputFileRegistry(outputFileRegistry, sourceFileIndex);
+        }
+        if (this.shards > 1) {
+            result.setShard(shard, this.shards);
+        }
+
+        result.setWriteBehindPipeline(writeBehindPipeline);
+
+        postDefaultGeneratorSetup(result);
+
+        return result;
+    }
+
+    /**
+     * Runs a Generator, recording its counters in the report.
+     *
+     * @param generator
+     *            Generator
+     * @param section
+     *            Section of the report of the source file
+     * @return Generated files
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static List<File> generate(Generator generator, Section section) throws IOException {
+        List<File> result = null;
+
+        try {
+            result = generator.generate();
+        } finally {
+            // The files are recorded in the manifest only once written
+            generator.flush();
+        }
+        section.add(Counter.FILES_WRITTEN, generator.getWrittenFiles());
+        section.add(Counter.FILES_UNCHANGED, generator.getUnchangedFiles());
+        section.add(Counter.TYPE_LOOKUPS, generator.getTypeLookups());
+
+        return result;
+    }
+
+    /**
+     * Moves to the changed source files the up to date ones that generated some of the files of a changed source file during the last build. <br>
+     * Regenerating them keeps the content of a file shared by more source files the one of the source coming later in the configuration.
+     *
+     * @param manifest
+     *            Generation Manifest
+     * @param changedSourceFiles
+     *            Fingerprints of the changed source files by index
+     * @param upToDateSourceFiles
+     *            Fingerprints of the up to date source files by index
+     */
+    private void addOverlappingSourceFiles(GenerationManifest manifest, Map<Integer, String> changedSourceFiles, Map<Integer, String> upToDateSourceFiles) {
+        Set<String> changedFiles = new HashSet<>();
+        changedSourceFiles.keySet().forEach(e -> changedFiles.addAll(manifest.getFiles(this.sourceFiles.get(e))));
+
+        boolean overlapping = true;
+        while (overlapping) {
+            overlapping = false;
+            for (Iterator<Entry<Integer, String>> iterator = upToDateSourceFiles.entrySet().iterator(); iterator.hasNext();) {
+                Entry<Integer, String> upToDateSourceFile = iterator.next();
+                Set<String> files = manifest.getFiles(this.sourceFiles.get(upToDateSourceFile.getKey()));
+                if (!Collections.disjoint(files, changedFiles)) {
+                    changedSourceFiles.put(upToDateSourceFile.getKey(), upToDateSourceFile.getValue());
+                    changedFiles.addAll(files);
+                    iterator.remove();
+                    overlapping = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the key of the source file, recording its reading in the {@link ExecutionReport}. <br>
+     * The key is computed once per build, so only the first call reads the source and the files it references.
+     *
+     * @param generatorFactory
+     *            Generator Factory
+     * @param sourceFile
+     *            SWAGGER source
+     * @param sourceStore
+     *            Build scoped store of the parsed sources
+     * @param report
+     *            Report of the execution
+     * @return Key of the source
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private static String getSourceKey(GeneratorFactory generatorFactory, URL sourceFile, SourceStore sourceStore, ExecutionReport report)
+            throws IOException {
+        String result = null;
+
+        Measure measure = ExecutionReport.start();
+        result = generatorFactory.getSourceKey(sourceFile, sourceStore);
+        report.getSource(sourceFile).add(Phase.FETCH, measure);
+
+        return result;
+    }
+
+    /**
+     * Returns the fingerprint of the Generators, made of the plug-in version and of the fingerprint of the {@link GeneratorFactory}.
+     *
+     * @param generatorFactory
+     *            Generator Factory
+     * @return Fingerprint of the Generators
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private String getGeneratorFingerprint(GeneratorFactory generatorFactory) throws IOException {
+        return String.format("%s|%s", this.pluginVersion, generatorFactory.getFingerprint());
+    }
+
+    /**
+     * Returns the file of the {@link GenerationManifest} of this execution.
+     *
+     * @return Manifest file
+     */
+    private File getManifestFile() {
+        return new File(this.buildDirectory, String.format("swagger-codegen-maven-plugin/%s-%s.manifest", this.executionId, this.goal));
+    }
+
+    /**
+     * Returns the file of the {@link ExecutionReport} of this execution.
+     *
+     * @return Report file
+     */
+    private File getReportFile() {
+        return new File(this.buildDirectory, String.format("swagger-codegen-maven-plugin/%s-%s.report.json", this.executionId, this.goal));
+    }
+
     /**
      * Returns the {@link Configuration} filled with the plug-in input parameters.
      *
@@ -174,7 +650,12 @@ public abstract class AbstractGenerateMojo extends AbstractMojo {
               .setSecurityHeadersAsArguments(this.securityHeadersAsArguments)
               .setBasePathAsRoot(this.basePathAsRoot)
               .setApiSuffix(this.apiSuffix)
-              .setModelNameSuffix(this.modelNameSuffix);
+              .setModelNameSuffix(this.modelNameSuffix)
+              .setWriteChangedFilesOnly(this.writeChangedFilesOnly)
+              .setEnableCache(this.enableCache)
+              .setCacheFolder(this.cacheFolder)
+              .setOffline(this.offline)
+              .setLowMemory(this.lowMemory);
 
         return result;
     }
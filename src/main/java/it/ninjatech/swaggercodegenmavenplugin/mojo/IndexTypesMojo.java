@@ -0,0 +1,74 @@
+/*
+MIT License
+
+Copyright (c) 2019 Vincenzo Mazzeo
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+ */
+package it.ninjatech.swaggercodegenmavenplugin.mojo;
+
+import java.io.File;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import it.ninjatech.swaggercodegenmavenplugin.core.TypeIndex;
+
+/**
+ * <p>
+ * Maven MOJO to write the {@link TypeIndex} of the classes of the project. <br>
+ * It is activated by the goal <strong>index-types</strong> during the <strong>process classes</strong> phase, so that the index is packaged with
+ * the classes and the projects scanning their packages through the Data Type Mapping don't need to walk the whole jar.
+ * </p>
+ * 
+ * @author Vincenzo Mazzeo
+ * @version 1.0
+ * @since 1.5.0
+ */
+@Mojo(name = "index-types", defaultPhase = LifecyclePhase.PROCESS_CLASSES, threadSafe = true)
+public class IndexTypesMojo extends AbstractMojo {
+
+    /** Classes folder */
+    @Parameter(required = true, defaultValue = "${project.build.outputDirectory}")
+    private File classesFolder;
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.apache.maven.plugin.Mojo#execute()
+     */
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        try {
+            TypeIndex typeIndex = TypeIndex.build(this.classesFolder);
+            typeIndex.store(this.classesFolder);
+            getLog().info(String.format("Indexed %d classes of %d packages in %s",
+                                        typeIndex.getClasses(),
+                                        typeIndex.getPackages(),
+                                        new File(this.classesFolder, TypeIndex.RESOURCE)));
+        } catch (Exception e) {
+            throw new MojoFailureException("Failure", e);
+        }
+    }
+
+}